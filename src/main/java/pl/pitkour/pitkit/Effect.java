@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit;
+
+import org.bukkit.World;
+
+public interface Effect
+{
+	World getWorld();
+
+	double getX();
+
+	double getY();
+
+	double getZ();
+
+	double getVisibilityDistance();
+
+	int play(int frame);
+
+	default boolean isDue(int frame)
+	{
+		return true;
+	}
+
+	default boolean isFinished()
+	{
+		return false;
+	}
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import net.minecraft.server.v1_12_R1.EntityPlayer;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.craftbukkit.v1_12_R1.entity.CraftPlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+public final class EffectEngine implements Runnable
+{
+	public static final long DEFAULT_TIME_BUDGET = 2_000_000;
+	public static final int DEFAULT_PACKET_BUDGET = -1;
+	private final List<Effect> effects = new ArrayList<>();
+	private final List<Effect> removals = new ArrayList<>();
+	private final LongSupplier clock;
+	private final Predicate<Effect> visibility;
+	private final long timeBudget;
+	private final int packetBudget;
+	private BukkitTask task;
+	private boolean ticking;
+	private int cursor;
+	private int frame;
+	private int activeEffects;
+	private int pausedEffects;
+	private long overruns;
+	private long lastTickNanos;
+	private int lastTickPackets;
+
+	public EffectEngine()
+	{
+		this(DEFAULT_TIME_BUDGET, DEFAULT_PACKET_BUDGET);
+	}
+
+	public EffectEngine(long timeBudget, int packetBudget)
+	{
+		this(timeBudget, packetBudget, System::nanoTime, EffectEngine::isVisible);
+	}
+
+	EffectEngine(long timeBudget, int packetBudget, LongSupplier clock, Predicate<Effect> visibility)
+	{
+		if(timeBudget <= 0 && timeBudget != -1)
+		{
+			throw new IllegalArgumentException("timeBudget must be positive or -1");
+		}
+		if(packetBudget <= 0 && packetBudget != -1)
+		{
+			throw new IllegalArgumentException("packetBudget must be positive or -1");
+		}
+		this.timeBudget = timeBudget;
+		this.packetBudget = packetBudget;
+		this.clock = clock;
+		this.visibility = visibility;
+	}
+
+	public EffectEngine start(Plugin plugin)
+	{
+		Objects.requireNonNull(plugin, "plugin must not be null");
+		if(this.task != null)
+		{
+			throw new IllegalStateException("effect engine is already running");
+		}
+		this.task = Bukkit.getScheduler().runTaskTimer(plugin, this, 1, 1);
+		return this;
+	}
+
+	public void stop()
+	{
+		if(this.task != null)
+		{
+			this.task.cancel();
+			this.task = null;
+		}
+	}
+
+	public boolean isRunning()
+	{
+		return this.task != null;
+	}
+
+	public void play(Effect effect)
+	{
+		Objects.requireNonNull(effect, "effect must not be null");
+		this.effects.add(effect);
+	}
+
+	public void cancel(Effect effect)
+	{
+		Objects.requireNonNull(effect, "effect must not be null");
+		if(this.ticking)
+		{
+			this.removals.add(effect);
+			return;
+		}
+		remove(effect);
+	}
+
+	public void cancelAll()
+	{
+		if(this.ticking)
+		{
+			this.removals.addAll(this.effects);
+			return;
+		}
+		this.effects.clear();
+		this.cursor = 0;
+	}
+
+	@Override
+	public void run()
+	{
+		long start = this.clock.getAsLong();
+		int size = this.effects.size();
+		int packets = 0;
+		int active = 0;
+		int paused = 0;
+		boolean finished = false;
+		this.ticking = true;
+		try
+		{
+			for(int visited = 0; visited < size; visited++)
+			{
+				if(visited > 0 && isOverBudget(start, packets))
+				{
+					this.overruns++;
+					break;
+				}
+				if(this.cursor >= size)
+				{
+					this.cursor = 0;
+				}
+				Effect effect = this.effects.get(this.cursor++);
+				if(effect.isFinished())
+				{
+					finished = true;
+					continue;
+				}
+				if(!effect.isDue(this.frame))
+				{
+					continue;
+				}
+				if(!this.visibility.test(effect))
+				{
+					paused++;
+					continue;
+				}
+				packets += effect.play(this.frame);
+				active++;
+				finished |= effect.isFinished();
+			}
+		}
+		finally
+		{
+			this.ticking = false;
+		}
+		if(finished)
+		{
+			removeIf(Effect::isFinished);
+		}
+		if(!this.removals.isEmpty())
+		{
+			this.removals.forEach(this::remove);
+			this.removals.clear();
+		}
+		this.frame++;
+		this.activeEffects = active;
+		this.pausedEffects = paused;
+		this.lastTickPackets = packets;
+		this.lastTickNanos = this.clock.getAsLong() - start;
+	}
+
+	public int getActiveEffects()
+	{
+		return this.activeEffects;
+	}
+
+	public int getPausedEffects()
+	{
+		return this.pausedEffects;
+	}
+
+	public int getEffects()
+	{
+		return this.effects.size();
+	}
+
+	public long getOverruns()
+	{
+		return this.overruns;
+	}
+
+	public long getLastTickNanos()
+	{
+		return this.lastTickNanos;
+	}
+
+	public int getLastTickPackets()
+	{
+		return this.lastTickPackets;
+	}
+
+	public int getFrame()
+	{
+		return this.frame;
+	}
+
+	public long getTimeBudget()
+	{
+		return this.timeBudget;
+	}
+
+	public int getPacketBudget()
+	{
+		return this.packetBudget;
+	}
+
+	private boolean isOverBudget(long start, int packets)
+	{
+		if(this.packetBudget != -1 && packets >= this.packetBudget)
+		{
+			return true;
+		}
+		return this.timeBudget != -1 && this.clock.getAsLong() - start >= this.timeBudget;
+	}
+
+	private void remove(Effect effect)
+	{
+		int index = this.effects.indexOf(effect);
+		if(index == -1)
+		{
+			return;
+		}
+		this.effects.remove(index);
+		if(index < this.cursor)
+		{
+			this.cursor--;
+		}
+	}
+
+	private void removeIf(Predicate<Effect> filter)
+	{
+		int kept = 0;
+		int cursor = this.cursor;
+		for(int index = 0; index < this.effects.size(); index++)
+		{
+			Effect effect = this.effects.get(index);
+			if(filter.test(effect))
+			{
+				if(index < this.cursor)
+				{
+					cursor--;
+				}
+				continue;
+			}
+			this.effects.set(kept++, effect);
+		}
+		this.effects.subList(kept, this.effects.size()).clear();
+		this.cursor = cursor;
+	}
+
+	private static boolean isVisible(Effect effect)
+	{
+		World world = effect.getWorld();
+		double distance = effect.getVisibilityDistance();
+		PlayerIndex index = PlayerIndex.getRunning();
+		if(index != null)
+		{
+			return index.isAnyNearby(world, effect.getX(), effect.getY(), effect.getZ(), distance);
+		}
+		double squaredDistance = distance * distance;
+		for(Player player : world.getPlayers())
+		{
+			EntityPlayer handle = ((CraftPlayer)player).getHandle();
+			double distanceX = handle.locX - effect.getX();
+			double distanceY = handle.locY - effect.getY();
+			double distanceZ = handle.locZ - effect.getZ();
+			if(distanceX * distanceX + distanceY * distanceY + distanceZ * distanceZ <= squaredDistance)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.PlayerQuitEvent;
+import pl.pitkour.pitkit.listener.Listener;
+import pl.pitkour.pitkit.utility.Builder;
+
+public final class LevelOfDetail
+{
+	public static final int DENSITY_STEPS = 4;
+	private static final int DENSITY_BUCKETS = DENSITY_STEPS + 1;
+	private static final Map<UUID, Integer> DENSITIES = new ConcurrentHashMap<>();
+	private static final DensityListener DENSITY_LISTENER = new DensityListener();
+	private double[] distances = new double[0];
+	private double[] squaredDistances = new double[0];
+	private double[] countScales = new double[0];
+	private int[] frameIntervals = new int[0];
+
+	private LevelOfDetail()
+	{}
+
+	public static LevelOfDetailBuilder builder()
+	{
+		return new LevelOfDetailBuilder(new LevelOfDetail());
+	}
+
+	public static void density(Player player, double density)
+	{
+		Objects.requireNonNull(player, "player must not be null");
+		if(density < 0 || density > 1)
+		{
+			throw new IllegalArgumentException("density must be between 0 and 1");
+		}
+		int step = (int)Math.round(density * DENSITY_STEPS);
+		if(step == DENSITY_STEPS)
+		{
+			DENSITIES.remove(player.getUniqueId());
+			return;
+		}
+		DENSITIES.put(player.getUniqueId(), step);
+	}
+
+	public static double getDensity(Player player)
+	{
+		Objects.requireNonNull(player, "player must not be null");
+		return (double)densityStep(player.getUniqueId()) / DENSITY_STEPS;
+	}
+
+	public static void resetDensity(Player player)
+	{
+		Objects.requireNonNull(player, "player must not be null");
+		DENSITIES.remove(player.getUniqueId());
+	}
+
+	public static Listener<PlayerQuitEvent> getDensityListener()
+	{
+		return DENSITY_LISTENER;
+	}
+
+	static int getDensities()
+	{
+		return DENSITIES.size();
+	}
+
+	public int getBucket(Player receiver, double squaredDistance, int frame)
+	{
+		Objects.requireNonNull(receiver, "receiver must not be null");
+		return getBucket(densityStep(receiver.getUniqueId()), squaredDistance, frame);
+	}
+
+	public int getCount(int count, int bucket)
+	{
+		if(bucket < 0 || bucket >= getBuckets())
+		{
+			throw new IllegalArgumentException("bucket must be between 0 and " + (getBuckets() - 1));
+		}
+		if(count == 0)
+		{
+			return 0;
+		}
+		double density = (double)(bucket % DENSITY_BUCKETS) / DENSITY_STEPS;
+		return Math.max(1, (int)Math.round(count * this.countScales[bucket / DENSITY_BUCKETS] * density));
+	}
+
+	public int getBuckets()
+	{
+		return this.distances.length * DENSITY_BUCKETS;
+	}
+
+	public double getMaxDistance()
+	{
+		return this.distances[this.distances.length - 1];
+	}
+
+	int getBucket(int densityStep, double squaredDistance, int frame)
+	{
+		if(densityStep == 0)
+		{
+			return -1;
+		}
+		for(int level = 0; level < this.squaredDistances.length; level++)
+		{
+			if(squaredDistance <= this.squaredDistances[level])
+			{
+				return frame % this.frameIntervals[level] == 0 ? level * DENSITY_BUCKETS + densityStep : -1;
+			}
+		}
+		return -1;
+	}
+
+	private static int densityStep(UUID player)
+	{
+		Integer step = DENSITIES.get(player);
+		return step == null ? DENSITY_STEPS : step;
+	}
+
+	@Override
+	public boolean equals(Object object)
+	{
+		if(this == object)
+		{
+			return true;
+		}
+		if(object == null || getClass() != object.getClass())
+		{
+			return false;
+		}
+		LevelOfDetail that = (LevelOfDetail)object;
+		return Arrays.equals(this.distances, that.distances) && Arrays.equals(this.countScales, that.countScales) && Arrays.equals(this.frameIntervals, that.frameIntervals);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return Objects.hash(Arrays.hashCode(this.distances), Arrays.hashCode(this.countScales), Arrays.hashCode(this.frameIntervals));
+	}
+
+	@Override
+	public String toString()
+	{
+		return "LevelOfDetail{" + "distances=" + Arrays.toString(this.distances) + ", countScales=" + Arrays.toString(this.countScales) + ", frameIntervals=" + Arrays.toString(this.frameIntervals) + '}';
+	}
+
+	public static final class DensityListener implements Listener<PlayerQuitEvent>
+	{
+		private DensityListener()
+		{}
+
+		@Override
+		@EventHandler(priority = EventPriority.MONITOR)
+		public void listen(PlayerQuitEvent event)
+		{
+			resetDensity(event.getPlayer());
+		}
+	}
+
+	public static final class LevelOfDetailBuilder implements Builder<LevelOfDetail>
+	{
+		private LevelOfDetail levelOfDetail;
+
+		private LevelOfDetailBuilder(LevelOfDetail levelOfDetail)
+		{
+			this.levelOfDetail = levelOfDetail;
+		}
+
+		public LevelOfDetailBuilder level(double distance, double countScale)
+		{
+			return level(distance, countScale, 1);
+		}
+
+		public LevelOfDetailBuilder level(double distance, double countScale, int frameInterval)
+		{
+			LevelOfDetail levelOfDetail = this.levelOfDetail;
+			int levels = levelOfDetail.distances.length;
+			if(distance <= 0 || levels > 0 && distance <= levelOfDetail.distances[levels - 1])
+			{
+				throw new IllegalArgumentException("levels must have positive, increasing distances");
+			}
+			if(countScale < 0 || countScale > 1)
+			{
+				throw new IllegalArgumentException("countScale must be between 0 and 1");
+			}
+			if(frameInterval <= 0)
+			{
+				throw new IllegalArgumentException("frameInterval must be positive");
+			}
+			levelOfDetail.distances = Arrays.copyOf(levelOfDetail.distances, levels + 1);
+			levelOfDetail.distances[levels] = distance;
+			levelOfDetail.squaredDistances = Arrays.copyOf(levelOfDetail.squaredDistances, levels + 1);
+			levelOfDetail.squaredDistances[levels] = distance * distance;
+			levelOfDetail.countScales = Arrays.copyOf(levelOfDetail.countScales, levels + 1);
+			levelOfDetail.countScales[levels] = countScale;
+			levelOfDetail.frameIntervals = Arrays.copyOf(levelOfDetail.frameIntervals, levels + 1);
+			levelOfDetail.frameIntervals[levels] = frameInterval;
+			return this;
+		}
+
+		@Override
+		public LevelOfDetailBuilder reset()
+		{
+			this.levelOfDetail = new LevelOfDetail();
+			return this;
+		}
+
+		@Override
+		public LevelOfDetail build()
+		{
+			if(this.levelOfDetail.distances.length == 0)
+			{
+				throw new IllegalStateException("missing levels");
+			}
+			return this.levelOfDetail;
+		}
+	}
+}
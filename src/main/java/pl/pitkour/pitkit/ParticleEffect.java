@@ -0,0 +1,202 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit;
+
+import java.util.Objects;
+import org.bukkit.World;
+import pl.pitkour.pitkit.utility.Builder;
+
+public final class ParticleEffect implements Effect
+{
+	private World world;
+	private Particles particles;
+	private Shape shape;
+	private LevelOfDetail levelOfDetail;
+	private int frameInterval = 1;
+	private int duration = -1;
+	private int plays;
+
+	private ParticleEffect(World world, Particles particles)
+	{
+		this.world = world;
+		this.particles = particles;
+	}
+
+	public static ParticleEffect of(World world, Particles particles)
+	{
+		return builder(world, particles).build();
+	}
+
+	public static ParticleEffectBuilder builder(World world, Particles particles)
+	{
+		Objects.requireNonNull(world, "world must not be null");
+		Objects.requireNonNull(particles, "particles must not be null");
+		return new ParticleEffectBuilder(new ParticleEffect(world, particles));
+	}
+
+	@Override
+	public int play(int frame)
+	{
+		if(!isDue(frame))
+		{
+			return 0;
+		}
+		this.plays++;
+		if(this.shape != null)
+		{
+			return this.particles.send(this.shape, this.world);
+		}
+		if(this.levelOfDetail != null)
+		{
+			return this.particles.send(this.world, this.levelOfDetail, frame / this.frameInterval);
+		}
+		return this.particles.send(this.world);
+	}
+
+	@Override
+	public boolean isDue(int frame)
+	{
+		return frame % this.frameInterval == 0;
+	}
+
+	@Override
+	public boolean isFinished()
+	{
+		return this.duration != -1 && this.plays >= this.duration;
+	}
+
+	@Override
+	public World getWorld()
+	{
+		return this.world;
+	}
+
+	@Override
+	public double getX()
+	{
+		return this.particles.getX();
+	}
+
+	@Override
+	public double getY()
+	{
+		return this.particles.getY();
+	}
+
+	@Override
+	public double getZ()
+	{
+		return this.particles.getZ();
+	}
+
+	@Override
+	public double getVisibilityDistance()
+	{
+		double visibilityDistance = this.particles.getVisibilityDistance();
+		return this.shape == null ? visibilityDistance : visibilityDistance + this.shape.getRadius();
+	}
+
+	public Particles getParticles()
+	{
+		return this.particles;
+	}
+
+	public Shape getShape()
+	{
+		return this.shape;
+	}
+
+	public LevelOfDetail getLevelOfDetail()
+	{
+		return this.levelOfDetail;
+	}
+
+	public int getFrameInterval()
+	{
+		return this.frameInterval;
+	}
+
+	public int getDuration()
+	{
+		return this.duration;
+	}
+
+	public static final class ParticleEffectBuilder implements Builder<ParticleEffect>
+	{
+		private ParticleEffect effect;
+
+		private ParticleEffectBuilder(ParticleEffect effect)
+		{
+			this.effect = effect;
+		}
+
+		public ParticleEffectBuilder shape(Shape shape)
+		{
+			Objects.requireNonNull(shape, "shape must not be null");
+			if(this.effect.levelOfDetail != null)
+			{
+				throw new IllegalStateException("shape cannot be combined with levelOfDetail");
+			}
+			this.effect.shape = shape;
+			return this;
+		}
+
+		public ParticleEffectBuilder levelOfDetail(LevelOfDetail levelOfDetail)
+		{
+			Objects.requireNonNull(levelOfDetail, "levelOfDetail must not be null");
+			if(this.effect.shape != null)
+			{
+				throw new IllegalStateException("levelOfDetail cannot be combined with shape");
+			}
+			this.effect.levelOfDetail = levelOfDetail;
+			return this;
+		}
+
+		public ParticleEffectBuilder frameInterval(int frameInterval)
+		{
+			if(frameInterval <= 0)
+			{
+				throw new IllegalArgumentException("frameInterval must be positive");
+			}
+			this.effect.frameInterval = frameInterval;
+			return this;
+		}
+
+		public ParticleEffectBuilder duration(int duration)
+		{
+			if(duration <= 0)
+			{
+				throw new IllegalArgumentException("duration must be positive");
+			}
+			this.effect.duration = duration;
+			return this;
+		}
+
+		@Override
+		public ParticleEffectBuilder reset()
+		{
+			this.effect = new ParticleEffect(this.effect.world, this.effect.particles);
+			return this;
+		}
+
+		@Override
+		public ParticleEffect build()
+		{
+			return this.effect;
+		}
+	}
+}
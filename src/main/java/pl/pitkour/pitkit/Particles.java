@@ -19,6 +19,7 @@ package pl.pitkour.pitkit;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.function.Consumer;
 import net.minecraft.server.v1_12_R1.EntityPlayer;
 import net.minecraft.server.v1_12_R1.EnumParticle;
 import net.minecraft.server.v1_12_R1.PacketPlayOutWorldParticles;
@@ -26,12 +27,12 @@ import net.minecraft.server.v1_12_R1.PlayerConnection;
 import org.bukkit.Color;
 import org.bukkit.Location;
 import org.bukkit.Particle;
+import org.bukkit.World;
 import org.bukkit.craftbukkit.v1_12_R1.CraftParticle;
 import org.bukkit.craftbukkit.v1_12_R1.entity.CraftPlayer;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.material.MaterialData;
-import org.bukkit.util.Vector;
 import pl.pitkour.pitkit.utility.Builder;
 import pl.pitkour.pitkit.utility.NumberUtility;
 
@@ -49,6 +50,10 @@ public final class Particles implements Serializable
 	private float extra;
 	private double visibilityDistance = 32;
 	private int[] data = new int[0];
+	private boolean frozen;
+	private transient PacketPlayOutWorldParticles packet;
+	private transient Shape shape;
+	private transient PacketPlayOutWorldParticles[] packets;
 
 	private Particles(Particles particles)
 	{
@@ -63,6 +68,10 @@ public final class Particles implements Serializable
 		this.extra = particles.extra;
 		this.visibilityDistance = particles.visibilityDistance;
 		this.data = Arrays.copyOf(particles.data, particles.data.length);
+		this.frozen = particles.frozen;
+		this.packet = particles.packet;
+		this.shape = particles.shape;
+		this.packets = particles.packets;
 	}
 
 	private Particles(Particle particle)
@@ -94,43 +103,215 @@ public final class Particles implements Serializable
 		return new ParticlesBuilder(new Particles(particle));
 	}
 
-	public void send(Player... receivers)
+	public int send(Player... receivers)
 	{
 		Objects.requireNonNull(receivers, "receivers must not be null");
 		PacketPlayOutWorldParticles packet = asPacket();
-		Arrays.stream(receivers).forEach(receiver -> sendPacket(receiver, packet));
+		int sent = 0;
+		for(Player receiver : receivers)
+		{
+			sent += sendPacket(receiver, packet);
+		}
+		return sent;
 	}
 
-	public void send(Player receiver)
+	public int send(Player receiver)
 	{
 		Objects.requireNonNull(receiver, "receiver must not be null");
-		sendPacket(receiver, asPacket());
+		return sendPacket(receiver, asPacket());
 	}
 
-	private PacketPlayOutWorldParticles asPacket()
+	public int send(World world)
 	{
-		EnumParticle particle = CraftParticle.toNMS(this.particle);
-		return new PacketPlayOutWorldParticles(particle, true, this.x, this.y, this.z, this.offsetX, this.offsetY, this.offsetZ, this.extra, this.count, this.data);
+		Objects.requireNonNull(world, "world must not be null");
+		PacketPlayOutWorldParticles packet = asPacket();
+		PlayerIndex index = PlayerIndex.getRunning();
+		if(index == null)
+		{
+			return send(world.getPlayers().toArray(new Player[0]));
+		}
+		int[] sent = new int[1];
+		index.forEachNearby(world, this.x, this.y, this.z, this.visibilityDistance, receiver -> sent[0] += sendVisiblePacket(receiver, packet));
+		return sent[0];
 	}
 
-	private void sendPacket(Player receiver, PacketPlayOutWorldParticles packet)
+	public int send(Shape shape, Player... receivers)
 	{
-		if(canSeeParticles(receiver))
+		Objects.requireNonNull(shape, "shape must not be null");
+		Objects.requireNonNull(receivers, "receivers must not be null");
+		PacketPlayOutWorldParticles[] packets = asPackets(shape);
+		int sent = 0;
+		for(Player receiver : receivers)
 		{
 			CraftPlayer craftPlayer = (CraftPlayer)receiver;
 			EntityPlayer entityPlayer = craftPlayer.getHandle();
-			PlayerConnection connection = entityPlayer.playerConnection;
+			if(canSeeParticles(entityPlayer, shape.getRadius()))
+			{
+				sent += sendPackets(receiver, packets);
+			}
+		}
+		return sent;
+	}
+
+	public int send(Shape shape, World world)
+	{
+		Objects.requireNonNull(shape, "shape must not be null");
+		Objects.requireNonNull(world, "world must not be null");
+		PacketPlayOutWorldParticles[] packets = asPackets(shape);
+		PlayerIndex index = PlayerIndex.getRunning();
+		if(index == null)
+		{
+			return send(shape, world.getPlayers().toArray(new Player[0]));
+		}
+		int[] sent = new int[1];
+		index.forEachNearby(world, this.x, this.y, this.z, this.visibilityDistance + shape.getRadius(), receiver -> sent[0] += sendPackets(receiver, packets));
+		return sent[0];
+	}
+
+	public int send(World world, LevelOfDetail levelOfDetail, int frame)
+	{
+		Objects.requireNonNull(world, "world must not be null");
+		Objects.requireNonNull(levelOfDetail, "levelOfDetail must not be null");
+		PacketPlayOutWorldParticles[] packets = new PacketPlayOutWorldParticles[levelOfDetail.getBuckets()];
+		int[] sent = new int[1];
+		Consumer<Player> sender = receiver -> sent[0] += sendPacket(receiver, levelOfDetail, frame, packets);
+		PlayerIndex index = PlayerIndex.getRunning();
+		if(index == null)
+		{
+			world.getPlayers().forEach(sender);
+			return sent[0];
+		}
+		index.forEachNearby(world, this.x, this.y, this.z, Math.min(this.visibilityDistance, levelOfDetail.getMaxDistance()), sender);
+		return sent[0];
+	}
+
+	PacketPlayOutWorldParticles asPacket()
+	{
+		if(!this.frozen)
+		{
+			return asPacket(this.count);
+		}
+		PacketPlayOutWorldParticles packet = this.packet;
+		if(packet == null)
+		{
+			packet = asPacket(this.count);
+			this.packet = packet;
+		}
+		return packet;
+	}
+
+	private PacketPlayOutWorldParticles asPacket(int count)
+	{
+		EnumParticle particle = CraftParticle.toNMS(this.particle);
+		return new PacketPlayOutWorldParticles(particle, true, this.x, this.y, this.z, this.offsetX, this.offsetY, this.offsetZ, this.extra, count, this.data);
+	}
+
+	PacketPlayOutWorldParticles[] asPackets(Shape shape)
+	{
+		if(this.frozen && this.shape == shape)
+		{
+			return this.packets;
+		}
+		EnumParticle particle = CraftParticle.toNMS(this.particle);
+		float[] points = shape.points;
+		PacketPlayOutWorldParticles[] packets = new PacketPlayOutWorldParticles[points.length / 3];
+		for(int point = 0; point < packets.length; point++)
+		{
+			float x = this.x + points[point * 3];
+			float y = this.y + points[point * 3 + 1];
+			float z = this.z + points[point * 3 + 2];
+			packets[point] = new PacketPlayOutWorldParticles(particle, true, x, y, z, this.offsetX, this.offsetY, this.offsetZ, this.extra, this.count, this.data);
+		}
+		if(this.frozen)
+		{
+			this.packets = packets;
+			this.shape = shape;
+		}
+		return packets;
+	}
+
+	private void invalidate()
+	{
+		this.packet = null;
+		this.shape = null;
+		this.packets = null;
+	}
+
+	private static int sendPackets(Player receiver, PacketPlayOutWorldParticles[] packets)
+	{
+		CraftPlayer craftPlayer = (CraftPlayer)receiver;
+		EntityPlayer entityPlayer = craftPlayer.getHandle();
+		PlayerConnection connection = entityPlayer.playerConnection;
+		for(PacketPlayOutWorldParticles packet : packets)
+		{
 			connection.sendPacket(packet);
 		}
+		return packets.length;
+	}
+
+	private int sendPacket(Player receiver, LevelOfDetail levelOfDetail, int frame, PacketPlayOutWorldParticles[] packets)
+	{
+		CraftPlayer craftPlayer = (CraftPlayer)receiver;
+		EntityPlayer entityPlayer = craftPlayer.getHandle();
+		double squaredDistance = squaredDistance(entityPlayer);
+		if(squaredDistance > this.visibilityDistance * this.visibilityDistance)
+		{
+			return 0;
+		}
+		int bucket = levelOfDetail.getBucket(receiver, squaredDistance, frame);
+		if(bucket == -1)
+		{
+			return 0;
+		}
+		PacketPlayOutWorldParticles packet = packets[bucket];
+		if(packet == null)
+		{
+			int count = levelOfDetail.getCount(this.count, bucket);
+			packet = count == this.count ? asPacket() : asPacket(count);
+			packets[bucket] = packet;
+		}
+		entityPlayer.playerConnection.sendPacket(packet);
+		return 1;
+	}
+
+	private int sendPacket(Player receiver, PacketPlayOutWorldParticles packet)
+	{
+		CraftPlayer craftPlayer = (CraftPlayer)receiver;
+		EntityPlayer entityPlayer = craftPlayer.getHandle();
+		if(!canSeeParticles(entityPlayer))
+		{
+			return 0;
+		}
+		entityPlayer.playerConnection.sendPacket(packet);
+		return 1;
+	}
+
+	private static int sendVisiblePacket(Player receiver, PacketPlayOutWorldParticles packet)
+	{
+		CraftPlayer craftPlayer = (CraftPlayer)receiver;
+		EntityPlayer entityPlayer = craftPlayer.getHandle();
+		PlayerConnection connection = entityPlayer.playerConnection;
+		connection.sendPacket(packet);
+		return 1;
+	}
+
+	private boolean canSeeParticles(EntityPlayer receiver)
+	{
+		return canSeeParticles(receiver, 0);
 	}
 
-	private boolean canSeeParticles(Player receiver)
+	private boolean canSeeParticles(EntityPlayer receiver, double radius)
 	{
-		Vector vector = new Vector(this.x, this.y, this.z);
-		Location receiverLocation = receiver.getLocation();
-		Vector receiverVector = receiverLocation.toVector();
-		double distance = vector.distance(receiverVector);
-		return distance <= this.visibilityDistance;
+		double distance = this.visibilityDistance + radius;
+		return squaredDistance(receiver) <= distance * distance;
+	}
+
+	private double squaredDistance(EntityPlayer receiver)
+	{
+		double distanceX = receiver.locX - this.x;
+		double distanceY = receiver.locY - this.y;
+		double distanceZ = receiver.locZ - this.z;
+		return distanceX * distanceX + distanceY * distanceY + distanceZ * distanceZ;
 	}
 
 	@Override
@@ -215,6 +396,11 @@ public final class Particles implements Serializable
 		return Arrays.copyOf(this.data, this.data.length);
 	}
 
+	public boolean isFrozen()
+	{
+		return this.frozen;
+	}
+
 	public static final class ParticlesBuilder implements Builder<Particles>
 	{
 		private Particles particles;
@@ -228,6 +414,7 @@ public final class Particles implements Serializable
 		{
 			Objects.requireNonNull(particle, "particle must not be null");
 			this.particles.particle = particle;
+			this.particles.invalidate();
 			return this;
 		}
 
@@ -245,18 +432,21 @@ public final class Particles implements Serializable
 		public ParticlesBuilder x(double x)
 		{
 			this.particles.x = (float)x;
+			this.particles.invalidate();
 			return this;
 		}
 
 		public ParticlesBuilder y(double y)
 		{
 			this.particles.y = (float)y;
+			this.particles.invalidate();
 			return this;
 		}
 
 		public ParticlesBuilder z(double z)
 		{
 			this.particles.z = (float)z;
+			this.particles.invalidate();
 			return this;
 		}
 
@@ -279,30 +469,35 @@ public final class Particles implements Serializable
 		public ParticlesBuilder offsetX(double offsetX)
 		{
 			this.particles.offsetX = (float)offsetX;
+			this.particles.invalidate();
 			return this;
 		}
 
 		public ParticlesBuilder offsetY(double offsetY)
 		{
 			this.particles.offsetY = (float)offsetY;
+			this.particles.invalidate();
 			return this;
 		}
 
 		public ParticlesBuilder offsetZ(double offsetZ)
 		{
 			this.particles.offsetZ = (float)offsetZ;
+			this.particles.invalidate();
 			return this;
 		}
 
 		public ParticlesBuilder count(int count)
 		{
 			this.particles.count = count;
+			this.particles.invalidate();
 			return this;
 		}
 
 		public ParticlesBuilder extra(double extra)
 		{
 			this.particles.extra = (float)extra;
+			this.particles.invalidate();
 			return this;
 		}
 
@@ -312,6 +507,13 @@ public final class Particles implements Serializable
 			return this;
 		}
 
+		public ParticlesBuilder frozen(boolean frozen)
+		{
+			this.particles.frozen = frozen;
+			this.particles.invalidate();
+			return this;
+		}
+
 		@SuppressWarnings("deprecation")
 		public ParticlesBuilder data(ItemStack data)
 		{
@@ -330,6 +532,14 @@ public final class Particles implements Serializable
 		{
 			Objects.requireNonNull(data, "data must not be null");
 			this.particles.data = data;
+			this.particles.invalidate();
+			return this;
+		}
+
+		@Override
+		public ParticlesBuilder reset()
+		{
+			this.particles = new Particles(this.particles.particle);
 			return this;
 		}
 
@@ -0,0 +1,366 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+import net.minecraft.server.v1_12_R1.EntityPlayer;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.craftbukkit.v1_12_R1.entity.CraftPlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import pl.pitkour.pitkit.listener.Listener;
+
+public final class PlayerIndex implements Runnable, Listener<PluginDisableEvent>
+{
+	private static final int CELL_SHIFT = 4;
+	private static final int BUCKETS = 1024;
+	private static volatile PlayerIndex running;
+	private final Map<UUID, Grid> grids = new HashMap<>();
+	private final Map<UUID, Entry> entries = new HashMap<>();
+	private final Plugin plugin;
+	private BukkitTask task;
+	private int tick;
+	private int query;
+
+	PlayerIndex()
+	{
+		this(null);
+	}
+
+	private PlayerIndex(Plugin plugin)
+	{
+		this.plugin = plugin;
+	}
+
+	public static PlayerIndex start(Plugin plugin)
+	{
+		PlayerIndex index = activate(plugin);
+		try
+		{
+			index.run();
+			index.task = Bukkit.getScheduler().runTaskTimer(plugin, index, 1, 1);
+			Bukkit.getPluginManager().registerEvents(index, plugin);
+		}
+		catch(RuntimeException exception)
+		{
+			index.stop();
+			throw exception;
+		}
+		return index;
+	}
+
+	static PlayerIndex activate(Plugin plugin)
+	{
+		Objects.requireNonNull(plugin, "plugin must not be null");
+		if(running != null)
+		{
+			throw new IllegalStateException("player index is already running");
+		}
+		PlayerIndex index = new PlayerIndex(plugin);
+		running = index;
+		return index;
+	}
+
+	public static boolean isRunning()
+	{
+		return running != null;
+	}
+
+	static PlayerIndex getRunning()
+	{
+		return running;
+	}
+
+	public void stop()
+	{
+		if(this.task != null)
+		{
+			this.task.cancel();
+			this.task = null;
+		}
+		if(running == this)
+		{
+			running = null;
+		}
+		if(this.plugin != null)
+		{
+			HandlerList.unregisterAll(this);
+		}
+		this.grids.clear();
+		this.entries.clear();
+	}
+
+	@Override
+	public void run()
+	{
+		for(Player player : Bukkit.getOnlinePlayers())
+		{
+			EntityPlayer handle = ((CraftPlayer)player).getHandle();
+			update(player.getUniqueId(), player, player.getWorld().getUID(), handle.locX, handle.locY, handle.locZ);
+		}
+		sweep();
+	}
+
+	@Override
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void listen(PluginDisableEvent event)
+	{
+		if(event.getPlugin() == this.plugin)
+		{
+			stop();
+		}
+	}
+
+	public void forEachNearby(World world, double x, double y, double z, double distance, Consumer<? super Player> action)
+	{
+		Objects.requireNonNull(world, "world must not be null");
+		forEachNearby(world.getUID(), x, y, z, distance, action);
+	}
+
+	public boolean isAnyNearby(World world, double x, double y, double z, double distance)
+	{
+		Objects.requireNonNull(world, "world must not be null");
+		return isAnyNearby(world.getUID(), x, y, z, distance);
+	}
+
+	public int size()
+	{
+		return this.entries.size();
+	}
+
+	void update(UUID id, Player player, UUID world, double x, double y, double z)
+	{
+		Entry entry = this.entries.get(id);
+		if(entry == null)
+		{
+			entry = new Entry();
+			this.entries.put(id, entry);
+		}
+		int cellX = cell(x);
+		int cellZ = cell(z);
+		if(entry.grid == null || !entry.world.equals(world) || entry.cellX != cellX || entry.cellZ != cellZ)
+		{
+			if(entry.grid != null)
+			{
+				entry.grid.remove(entry);
+			}
+			Grid grid = this.grids.get(world);
+			if(grid == null)
+			{
+				grid = new Grid();
+				this.grids.put(world, grid);
+			}
+			entry.world = world;
+			entry.cellX = cellX;
+			entry.cellZ = cellZ;
+			grid.add(entry);
+		}
+		entry.player = player;
+		entry.x = x;
+		entry.y = y;
+		entry.z = z;
+		entry.tick = this.tick;
+	}
+
+	void sweep()
+	{
+		Iterator<Entry> iterator = this.entries.values().iterator();
+		while(iterator.hasNext())
+		{
+			Entry entry = iterator.next();
+			if(entry.tick != this.tick)
+			{
+				entry.grid.remove(entry);
+				iterator.remove();
+			}
+		}
+		this.tick++;
+	}
+
+	void forEachNearby(UUID world, double x, double y, double z, double distance, Consumer<? super Player> action)
+	{
+		Objects.requireNonNull(action, "action must not be null");
+		Grid grid = this.grids.get(world);
+		if(grid == null)
+		{
+			return;
+		}
+		int query = ++this.query;
+		double squaredDistance = distance * distance;
+		int minX = cell(x - distance);
+		int maxX = cell(x + distance);
+		int minZ = cell(z - distance);
+		int maxZ = cell(z + distance);
+		if((long)(maxX - minX + 1) * (maxZ - minZ + 1) >= BUCKETS)
+		{
+			for(List<Entry> bucket : grid.buckets)
+			{
+				visit(bucket, query, x, y, z, squaredDistance, action);
+			}
+			return;
+		}
+		for(int cellX = minX; cellX <= maxX; cellX++)
+		{
+			for(int cellZ = minZ; cellZ <= maxZ; cellZ++)
+			{
+				visit(grid.buckets[bucket(cellX, cellZ)], query, x, y, z, squaredDistance, action);
+			}
+		}
+	}
+
+	boolean isAnyNearby(UUID world, double x, double y, double z, double distance)
+	{
+		Grid grid = this.grids.get(world);
+		if(grid == null)
+		{
+			return false;
+		}
+		double squaredDistance = distance * distance;
+		int minX = cell(x - distance);
+		int maxX = cell(x + distance);
+		int minZ = cell(z - distance);
+		int maxZ = cell(z + distance);
+		if((long)(maxX - minX + 1) * (maxZ - minZ + 1) >= BUCKETS)
+		{
+			for(List<Entry> bucket : grid.buckets)
+			{
+				if(isAnyNearby(bucket, x, y, z, squaredDistance))
+				{
+					return true;
+				}
+			}
+			return false;
+		}
+		for(int cellX = minX; cellX <= maxX; cellX++)
+		{
+			for(int cellZ = minZ; cellZ <= maxZ; cellZ++)
+			{
+				if(isAnyNearby(grid.buckets[bucket(cellX, cellZ)], x, y, z, squaredDistance))
+				{
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static boolean isAnyNearby(List<Entry> bucket, double x, double y, double z, double squaredDistance)
+	{
+		if(bucket == null)
+		{
+			return false;
+		}
+		for(int index = 0; index < bucket.size(); index++)
+		{
+			Entry entry = bucket.get(index);
+			double distanceX = entry.x - x;
+			double distanceY = entry.y - y;
+			double distanceZ = entry.z - z;
+			if(distanceX * distanceX + distanceY * distanceY + distanceZ * distanceZ <= squaredDistance)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void visit(List<Entry> bucket, int query, double x, double y, double z, double squaredDistance, Consumer<? super Player> action)
+	{
+		if(bucket == null)
+		{
+			return;
+		}
+		for(int index = 0; index < bucket.size(); index++)
+		{
+			Entry entry = bucket.get(index);
+			if(entry.query == query)
+			{
+				continue;
+			}
+			entry.query = query;
+			double distanceX = entry.x - x;
+			double distanceY = entry.y - y;
+			double distanceZ = entry.z - z;
+			if(distanceX * distanceX + distanceY * distanceY + distanceZ * distanceZ <= squaredDistance)
+			{
+				action.accept(entry.player);
+			}
+		}
+	}
+
+	private static int cell(double coordinate)
+	{
+		return (int)Math.floor(coordinate) >> CELL_SHIFT;
+	}
+
+	private static int bucket(int cellX, int cellZ)
+	{
+		return (cellX * 0x9E3779B1 ^ cellZ * 0x85EBCA6B) >>> 16 & BUCKETS - 1;
+	}
+
+	private static final class Grid
+	{
+		@SuppressWarnings("unchecked")
+		private final List<Entry>[] buckets = new List[BUCKETS];
+
+		private void add(Entry entry)
+		{
+			int index = bucket(entry.cellX, entry.cellZ);
+			List<Entry> bucket = this.buckets[index];
+			if(bucket == null)
+			{
+				bucket = new ArrayList<>();
+				this.buckets[index] = bucket;
+			}
+			bucket.add(entry);
+			entry.grid = this;
+		}
+
+		private void remove(Entry entry)
+		{
+			this.buckets[bucket(entry.cellX, entry.cellZ)].remove(entry);
+			entry.grid = null;
+		}
+	}
+
+	private static final class Entry
+	{
+		private Player player;
+		private UUID world;
+		private Grid grid;
+		private int cellX;
+		private int cellZ;
+		private double x;
+		private double y;
+		private double z;
+		private int tick;
+		private int query;
+	}
+}
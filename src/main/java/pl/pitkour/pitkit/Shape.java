@@ -0,0 +1,316 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class Shape
+{
+	private static final int SINE_TABLE_SIZE = 4096;
+	private static final int SINE_TABLE_MASK = SINE_TABLE_SIZE - 1;
+	private static final double SINE_TABLE_SCALE = SINE_TABLE_SIZE / (2 * Math.PI);
+	private static final float[] SINE_TABLE = new float[SINE_TABLE_SIZE];
+	private static final double GOLDEN_ANGLE = Math.PI * (3 - Math.sqrt(5));
+	private static final int MAX_CACHED_SHAPES = 1024;
+	private static final Map<Key, Shape> SHAPES = new ConcurrentHashMap<>();
+	final float[] points;
+	private final double radius;
+
+	private Shape(float[] points)
+	{
+		this.points = points;
+		this.radius = radius(points);
+	}
+
+	public static Shape line(double x, double y, double z, int points)
+	{
+		requirePoints(points);
+		return cached(new Key("line", points, x, y, z), () ->
+		{
+			float[] shape = new float[points * 3];
+			double step = points == 1 ? 0 : 1.0 / (points - 1);
+			for(int point = 0; point < points; point++)
+			{
+				set(shape, point, x * point * step, y * point * step, z * point * step);
+			}
+			return shape;
+		});
+	}
+
+	public static Shape circle(double radius, int points)
+	{
+		requirePoints(points);
+		return cached(new Key("circle", points, radius), () ->
+		{
+			float[] shape = new float[points * 3];
+			for(int point = 0; point < points; point++)
+			{
+				double angle = 2 * Math.PI * point / points;
+				set(shape, point, radius * cos(angle), 0, radius * sin(angle));
+			}
+			return shape;
+		});
+	}
+
+	public static Shape sphere(double radius, int points)
+	{
+		requirePoints(points);
+		return cached(new Key("sphere", points, radius), () ->
+		{
+			float[] shape = new float[points * 3];
+			for(int point = 0; point < points; point++)
+			{
+				double y = 1 - 2 * (point + 0.5) / points;
+				double ring = Math.sqrt(1 - y * y);
+				double angle = GOLDEN_ANGLE * point;
+				set(shape, point, radius * ring * cos(angle), radius * y, radius * ring * sin(angle));
+			}
+			return shape;
+		});
+	}
+
+	public static Shape helix(double radius, double height, double turns, int points)
+	{
+		requirePoints(points);
+		return cached(new Key("helix", points, radius, height, turns), () ->
+		{
+			float[] shape = new float[points * 3];
+			double step = points == 1 ? 0 : 1.0 / (points - 1);
+			for(int point = 0; point < points; point++)
+			{
+				double progress = point * step;
+				double angle = 2 * Math.PI * turns * progress;
+				set(shape, point, radius * cos(angle), height * progress, radius * sin(angle));
+			}
+			return shape;
+		});
+	}
+
+	public static Shape cuboid(double sizeX, double sizeY, double sizeZ, double spacing)
+	{
+		if(sizeX < 0 || sizeY < 0 || sizeZ < 0)
+		{
+			throw new IllegalArgumentException("size must not be negative");
+		}
+		if(spacing <= 0)
+		{
+			throw new IllegalArgumentException("spacing must be positive");
+		}
+		return cached(new Key("cuboid", 0, sizeX, sizeY, sizeZ, spacing), () ->
+		{
+			int pointsX = edgePoints(sizeX, spacing);
+			int pointsY = edgePoints(sizeY, spacing);
+			int pointsZ = edgePoints(sizeZ, spacing);
+			float[] shape = new float[(pointsX + Math.max(pointsY - 2, 0) + Math.max(pointsZ - 2, 0)) * 4 * 3];
+			double halfX = sizeX / 2;
+			double halfY = sizeY / 2;
+			double halfZ = sizeZ / 2;
+			int point = 0;
+			for(int corner = 0; corner < 4; corner++)
+			{
+				double first = (corner & 1) == 0 ? -1 : 1;
+				double second = (corner & 2) == 0 ? -1 : 1;
+				for(int index = 0; index < pointsX; index++)
+				{
+					set(shape, point++, edge(sizeX, pointsX, index), first * halfY, second * halfZ);
+				}
+				for(int index = 1; index < pointsY - 1; index++)
+				{
+					set(shape, point++, first * halfX, edge(sizeY, pointsY, index), second * halfZ);
+				}
+				for(int index = 1; index < pointsZ - 1; index++)
+				{
+					set(shape, point++, first * halfX, second * halfY, edge(sizeZ, pointsZ, index));
+				}
+			}
+			return shape;
+		});
+	}
+
+	public int size()
+	{
+		return this.points.length / 3;
+	}
+
+	public float getX(int point)
+	{
+		return this.points[point * 3];
+	}
+
+	public float getY(int point)
+	{
+		return this.points[point * 3 + 1];
+	}
+
+	public float getZ(int point)
+	{
+		return this.points[point * 3 + 2];
+	}
+
+	public float[] getPoints()
+	{
+		return Arrays.copyOf(this.points, this.points.length);
+	}
+
+	public double getRadius()
+	{
+		return this.radius;
+	}
+
+	@Override
+	public boolean equals(Object object)
+	{
+		if(this == object)
+		{
+			return true;
+		}
+		if(object == null || getClass() != object.getClass())
+		{
+			return false;
+		}
+		Shape that = (Shape)object;
+		return Arrays.equals(this.points, that.points);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return Arrays.hashCode(this.points);
+	}
+
+	@Override
+	public String toString()
+	{
+		return "Shape{" + "size=" + size() + '}';
+	}
+
+	static float sin(double angle)
+	{
+		return SINE_TABLE[(int)Math.round(angle * SINE_TABLE_SCALE) & SINE_TABLE_MASK];
+	}
+
+	static float cos(double angle)
+	{
+		return SINE_TABLE[(int)Math.round(angle * SINE_TABLE_SCALE) + SINE_TABLE_SIZE / 4 & SINE_TABLE_MASK];
+	}
+
+	private static Shape cached(Key key, PointsGenerator generator)
+	{
+		Shape shape = SHAPES.get(key);
+		if(shape != null)
+		{
+			return shape;
+		}
+		shape = new Shape(generator.generate());
+		if(SHAPES.size() < MAX_CACHED_SHAPES)
+		{
+			Shape previous = SHAPES.putIfAbsent(key, shape);
+			return previous == null ? shape : previous;
+		}
+		return shape;
+	}
+
+	private static double radius(float[] points)
+	{
+		double squaredRadius = 0;
+		for(int point = 0; point < points.length; point += 3)
+		{
+			double x = points[point];
+			double y = points[point + 1];
+			double z = points[point + 2];
+			squaredRadius = Math.max(squaredRadius, x * x + y * y + z * z);
+		}
+		return Math.sqrt(squaredRadius);
+	}
+
+	private static void requirePoints(int points)
+	{
+		if(points <= 0)
+		{
+			throw new IllegalArgumentException("points must be positive");
+		}
+	}
+
+	private static int edgePoints(double size, double spacing)
+	{
+		return (int)Math.floor(size / spacing) + 1;
+	}
+
+	private static double edge(double size, int points, int index)
+	{
+		return points == 1 ? 0 : size * index / (points - 1) - size / 2;
+	}
+
+	private static void set(float[] shape, int point, double x, double y, double z)
+	{
+		shape[point * 3] = (float)x;
+		shape[point * 3 + 1] = (float)y;
+		shape[point * 3 + 2] = (float)z;
+	}
+
+	@FunctionalInterface
+	private interface PointsGenerator
+	{
+		float[] generate();
+	}
+
+	private static final class Key
+	{
+		private final String type;
+		private final int points;
+		private final double[] parameters;
+
+		private Key(String type, int points, double... parameters)
+		{
+			this.type = type;
+			this.points = points;
+			this.parameters = parameters;
+		}
+
+		@Override
+		public boolean equals(Object object)
+		{
+			if(this == object)
+			{
+				return true;
+			}
+			if(object == null || getClass() != object.getClass())
+			{
+				return false;
+			}
+			Key that = (Key)object;
+			return this.points == that.points && this.type.equals(that.type) && Arrays.equals(this.parameters, that.parameters);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return 31 * (31 * this.type.hashCode() + this.points) + Arrays.hashCode(this.parameters);
+		}
+	}
+
+	static
+	{
+		for(int index = 0; index < SINE_TABLE_SIZE; index++)
+		{
+			SINE_TABLE[index] = (float)Math.sin(index / SINE_TABLE_SCALE);
+		}
+	}
+}
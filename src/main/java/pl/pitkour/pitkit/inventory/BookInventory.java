@@ -54,7 +54,7 @@ public class BookInventory
 		ItemMeta metadata = this.book.getItemMeta();
 		CraftMetaBook bookMetadata = (CraftMetaBook)metadata;
 		List<IChatBaseComponent> pages = bookMetadata.pages;
-		this.pages.forEach(page -> pages.add(ChatSerializer.a(page.toString())));
+		this.pages.forEach(page -> pages.add(ChatSerializer.a(page.asString())));
 		this.book.setItemMeta(bookMetadata);
 	}
 
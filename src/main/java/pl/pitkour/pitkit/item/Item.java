@@ -192,8 +192,8 @@ public final class Item implements Serializable
 			metadata.addEnchant(Enchantment.LUCK, 1, false);
 			metadata.addItemFlags(ItemFlag.HIDE_ENCHANTS);
 		}
-		metadata.setDisplayName(this.name.toString());
-		metadata.setLore(this.description.stream().map(Text::toString).collect(Collectors.toList()));
+		metadata.setDisplayName(this.name.asString());
+		metadata.setLore(this.description.stream().map(Text::asString).collect(Collectors.toList()));
 		this.enchantments.forEach((enchantment, level) -> metadata.addEnchant(Enchantment.getById(enchantment), level, true));
 		this.flags.forEach(metadata::addItemFlags);
 		item.setItemMeta(metadata);
@@ -375,6 +375,13 @@ public final class Item implements Serializable
 			return this;
 		}
 
+		public ItemBuilder description(List<Text> lines)
+		{
+			Objects.requireNonNull(lines, "lines must not be null");
+			lines.forEach(this::description);
+			return this;
+		}
+
 		public ItemBuilder description(Text line)
 		{
 			Objects.requireNonNull(line, "line must not be null");
@@ -500,6 +507,13 @@ public final class Item implements Serializable
 			return this;
 		}
 
+		@Override
+		public ItemBuilder reset()
+		{
+			this.item = new Item();
+			return this;
+		}
+
 		@Override
 		public Item build()
 		{
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.scoreboard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import net.minecraft.server.v1_12_R1.IScoreboardCriteria;
+import net.minecraft.server.v1_12_R1.Packet;
+import net.minecraft.server.v1_12_R1.PacketPlayOutScoreboardDisplayObjective;
+import net.minecraft.server.v1_12_R1.PacketPlayOutScoreboardObjective;
+import net.minecraft.server.v1_12_R1.PacketPlayOutScoreboardScore;
+import net.minecraft.server.v1_12_R1.PacketPlayOutScoreboardTeam;
+import net.minecraft.server.v1_12_R1.PlayerConnection;
+import net.minecraft.server.v1_12_R1.Scoreboard;
+import net.minecraft.server.v1_12_R1.ScoreboardObjective;
+import net.minecraft.server.v1_12_R1.ScoreboardScore;
+import net.minecraft.server.v1_12_R1.ScoreboardTeam;
+import org.bukkit.ChatColor;
+import org.bukkit.craftbukkit.v1_12_R1.entity.CraftPlayer;
+import org.bukkit.entity.Player;
+import pl.pitkour.pitkit.text.ColorCodes;
+import pl.pitkour.pitkit.text.Text;
+
+public final class Sidebar
+{
+	public static final int MAX_LINES = 15;
+	private static final int MAX_TITLE_LENGTH = 32;
+	private static final int MAX_AFFIX_LENGTH = 16;
+	private static final int SIDEBAR_SLOT = 1;
+	private static final int CREATE = 0;
+	private static final int REMOVE = 1;
+	private static final int UPDATE = 2;
+	private static final String OBJECTIVE_NAME = "pitkit-sidebar";
+	private static final String TEAM_NAME_PREFIX = "pitkit-line-";
+	private static final String FORMATS = "klmno";
+	private static final Scoreboard SCOREBOARD = new Scoreboard();
+	private static final String[] ENTRIES = new String[MAX_LINES];
+	private final Player receiver;
+	private final ScoreboardObjective objective;
+	private final ScoreboardTeam[] teams = new ScoreboardTeam[MAX_LINES];
+	private final ScoreboardScore[] scores = new ScoreboardScore[MAX_LINES];
+	private final Text[] lines = new Text[MAX_LINES];
+	private final String[] renderedLines = new String[MAX_LINES];
+	private Text title = Text.empty();
+	private String renderedTitle;
+	private int lineCount;
+	private int renderedLineCount;
+	private boolean visible;
+
+	Sidebar(Player receiver)
+	{
+		this.receiver = receiver;
+		this.objective = new ScoreboardObjective(SCOREBOARD, OBJECTIVE_NAME, IScoreboardCriteria.b);
+	}
+
+	public static Sidebar of(Player receiver)
+	{
+		Objects.requireNonNull(receiver, "receiver must not be null");
+		return new Sidebar(receiver);
+	}
+
+	public Sidebar title(Text title)
+	{
+		Objects.requireNonNull(title, "title must not be null");
+		this.title = title;
+		return this;
+	}
+
+	public Sidebar line(int index, Text line)
+	{
+		Objects.requireNonNull(line, "line must not be null");
+		if(index < 0 || index >= MAX_LINES)
+		{
+			throw new IllegalArgumentException("index must be between 0 and " + (MAX_LINES - 1));
+		}
+		for(int gap = this.lineCount; gap < index; gap++)
+		{
+			this.lines[gap] = Text.empty();
+		}
+		this.lines[index] = line;
+		this.lineCount = Math.max(this.lineCount, index + 1);
+		return this;
+	}
+
+	public Sidebar lines(Text... lines)
+	{
+		Objects.requireNonNull(lines, "lines must not be null");
+		return lines(Arrays.asList(lines));
+	}
+
+	public Sidebar lines(List<Text> lines)
+	{
+		Objects.requireNonNull(lines, "lines must not be null");
+		if(lines.size() > MAX_LINES)
+		{
+			throw new IllegalArgumentException("sidebar must not have more than " + MAX_LINES + " lines");
+		}
+		for(int index = 0; index < lines.size(); index++)
+		{
+			this.lines[index] = Objects.requireNonNull(lines.get(index), "line must not be null");
+		}
+		Arrays.fill(this.lines, lines.size(), MAX_LINES, null);
+		this.lineCount = lines.size();
+		return this;
+	}
+
+	public void flush()
+	{
+		send(render());
+	}
+
+	public void remove()
+	{
+		List<Packet<?>> packets = new ArrayList<>();
+		if(this.visible)
+		{
+			for(int index = 0; index < this.renderedLineCount; index++)
+			{
+				packets.add(new PacketPlayOutScoreboardTeam(this.teams[index], REMOVE));
+				this.renderedLines[index] = null;
+			}
+			packets.add(new PacketPlayOutScoreboardObjective(this.objective, REMOVE));
+			this.renderedTitle = null;
+			this.renderedLineCount = 0;
+			this.visible = false;
+		}
+		send(packets);
+	}
+
+	List<Packet<?>> render()
+	{
+		List<Packet<?>> packets = new ArrayList<>();
+		String title = truncate(this.title.asString(), MAX_TITLE_LENGTH);
+		if(!this.visible)
+		{
+			this.objective.setDisplayName(title);
+			packets.add(new PacketPlayOutScoreboardObjective(this.objective, CREATE));
+			packets.add(new PacketPlayOutScoreboardDisplayObjective(SIDEBAR_SLOT, this.objective));
+			this.renderedTitle = title;
+			this.visible = true;
+		}
+		else if(!title.equals(this.renderedTitle))
+		{
+			this.objective.setDisplayName(title);
+			packets.add(new PacketPlayOutScoreboardObjective(this.objective, UPDATE));
+			this.renderedTitle = title;
+		}
+		for(int index = 0; index < this.lineCount; index++)
+		{
+			String line = this.lines[index].asString();
+			if(index >= this.renderedLineCount)
+			{
+				ScoreboardTeam team = team(index);
+				affixes(team, line);
+				packets.add(new PacketPlayOutScoreboardTeam(team, CREATE));
+				packets.add(new PacketPlayOutScoreboardScore(score(index)));
+			}
+			else if(!line.equals(this.renderedLines[index]))
+			{
+				ScoreboardTeam team = team(index);
+				affixes(team, line);
+				packets.add(new PacketPlayOutScoreboardTeam(team, UPDATE));
+			}
+			this.renderedLines[index] = line;
+		}
+		for(int index = this.lineCount; index < this.renderedLineCount; index++)
+		{
+			packets.add(new PacketPlayOutScoreboardScore(ENTRIES[index], this.objective));
+			packets.add(new PacketPlayOutScoreboardTeam(this.teams[index], REMOVE));
+			this.renderedLines[index] = null;
+		}
+		this.renderedLineCount = this.lineCount;
+		return packets;
+	}
+
+	static String[] split(String line)
+	{
+		if(line.length() <= MAX_AFFIX_LENGTH)
+		{
+			return new String[]{line, ""};
+		}
+		String prefix = truncate(line, MAX_AFFIX_LENGTH);
+		String suffix = truncate(activeCodes(prefix) + line.substring(prefix.length()), MAX_AFFIX_LENGTH);
+		return new String[]{prefix, suffix};
+	}
+
+	private void send(List<Packet<?>> packets)
+	{
+		if(packets.isEmpty())
+		{
+			return;
+		}
+		PlayerConnection connection = ((CraftPlayer)this.receiver).getHandle().playerConnection;
+		packets.forEach(connection::sendPacket);
+	}
+
+	private ScoreboardTeam team(int index)
+	{
+		ScoreboardTeam team = this.teams[index];
+		if(team == null)
+		{
+			team = new ScoreboardTeam(SCOREBOARD, TEAM_NAME_PREFIX + index);
+			team.getPlayerNameSet().add(ENTRIES[index]);
+			this.teams[index] = team;
+		}
+		return team;
+	}
+
+	private ScoreboardScore score(int index)
+	{
+		ScoreboardScore score = this.scores[index];
+		if(score == null)
+		{
+			score = new ScoreboardScore(SCOREBOARD, this.objective, ENTRIES[index]);
+			score.setScore(MAX_LINES - index);
+			this.scores[index] = score;
+		}
+		return score;
+	}
+
+	private static void affixes(ScoreboardTeam team, String line)
+	{
+		String[] affixes = split(line);
+		team.setPrefix(affixes[0]);
+		team.setSuffix(affixes[1]);
+	}
+
+	private static String truncate(String text, int length)
+	{
+		if(text.length() <= length)
+		{
+			return text;
+		}
+		int end = text.charAt(length - 1) == ColorCodes.COLOR_CHAR ? length - 1 : length;
+		return text.substring(0, end);
+	}
+
+	private static String activeCodes(String text)
+	{
+		StringBuilder codes = new StringBuilder();
+		for(int index = 0; index < text.length() - 1; index++)
+		{
+			if(text.charAt(index) == ColorCodes.COLOR_CHAR && ColorCodes.isCode(text.charAt(index + 1)))
+			{
+				char code = Character.toLowerCase(text.charAt(++index));
+				if(FORMATS.indexOf(code) == -1)
+				{
+					codes.setLength(0);
+					if(code == 'r')
+					{
+						continue;
+					}
+				}
+				codes.append(ColorCodes.COLOR_CHAR).append(code);
+			}
+		}
+		return codes.toString();
+	}
+
+	public Player getReceiver()
+	{
+		return this.receiver;
+	}
+
+	public Text getTitle()
+	{
+		return this.title;
+	}
+
+	public List<Text> getLines()
+	{
+		return Collections.unmodifiableList(Arrays.asList(this.lines).subList(0, this.lineCount));
+	}
+
+	public boolean isVisible()
+	{
+		return this.visible;
+	}
+
+	static
+	{
+		for(int index = 0; index < MAX_LINES; index++)
+		{
+			ENTRIES[index] = ChatColor.values()[index].toString() + ChatColor.RESET;
+		}
+	}
+}
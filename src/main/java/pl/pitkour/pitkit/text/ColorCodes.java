@@ -0,0 +1,287 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text;
+
+import java.util.Objects;
+import org.bukkit.ChatColor;
+
+public final class ColorCodes
+{
+	public static final char COLOR_CHAR = ChatColor.COLOR_CHAR;
+	public static final char ALTERNATE_COLOR_CHAR = '&';
+	private static final String FORMATS = "klmno";
+	private static final boolean[] CODES = new boolean[128];
+
+	private ColorCodes()
+	{
+		throw new UnsupportedOperationException("cannot create instance of utility class");
+	}
+
+	public static String translate(String text)
+	{
+		return render(text, true, false);
+	}
+
+	public static String strip(String text)
+	{
+		return render(text, false, true);
+	}
+
+	public static String translateAndStrip(String text)
+	{
+		return render(text, true, true);
+	}
+
+	public static String render(String text, boolean translate, boolean strip)
+	{
+		Objects.requireNonNull(text, "text must not be null");
+		if(!translate && !strip)
+		{
+			return text;
+		}
+		int start = indexOfCode(text, translate);
+		if(start == -1)
+		{
+			return text;
+		}
+		char[] characters = text.toCharArray();
+		int length = render(characters, start, translate, strip);
+		return new String(characters, 0, length);
+	}
+
+	public static StringBuilder translate(CharSequence text, StringBuilder output)
+	{
+		return render(text, true, false, output);
+	}
+
+	public static StringBuilder strip(CharSequence text, StringBuilder output)
+	{
+		return render(text, false, true, output);
+	}
+
+	public static StringBuilder translateAndStrip(CharSequence text, StringBuilder output)
+	{
+		return render(text, true, true, output);
+	}
+
+	public static StringBuilder render(CharSequence text, boolean translate, boolean strip, StringBuilder output)
+	{
+		Objects.requireNonNull(text, "text must not be null");
+		Objects.requireNonNull(output, "output must not be null");
+		render(text, 0, translate, strip, output);
+		return output;
+	}
+
+	public static String optimize(String text, boolean alternate)
+	{
+		Objects.requireNonNull(text, "text must not be null");
+		return optimize(text, alternate, new StringBuilder(text.length())).toString();
+	}
+
+	public static StringBuilder optimize(CharSequence text, boolean alternate, StringBuilder output)
+	{
+		Objects.requireNonNull(text, "text must not be null");
+		Objects.requireNonNull(output, "output must not be null");
+		new Optimizer(output).optimize(text, alternate);
+		return output;
+	}
+
+	public static boolean isCode(char code)
+	{
+		return code < CODES.length && CODES[code];
+	}
+
+	private static void render(CharSequence text, int start, boolean translate, boolean strip, StringBuilder output)
+	{
+		int last = text.length() - 1;
+		int segment = start;
+		for(int index = start; index < last; index++)
+		{
+			char character = text.charAt(index);
+			if(character != COLOR_CHAR && character != ALTERNATE_COLOR_CHAR)
+			{
+				continue;
+			}
+			char code = text.charAt(index + 1);
+			if(!isCode(code))
+			{
+				continue;
+			}
+			if(character == COLOR_CHAR && strip)
+			{
+				output.append(text, segment, index);
+				segment = ++index + 1;
+			}
+			else if(character == ALTERNATE_COLOR_CHAR && translate)
+			{
+				output.append(text, segment, index);
+				if(!strip)
+				{
+					output.append(COLOR_CHAR).append(Character.toLowerCase(code));
+				}
+				segment = ++index + 1;
+			}
+		}
+		output.append(text, segment, text.length());
+	}
+
+	private static int render(char[] characters, int start, boolean translate, boolean strip)
+	{
+		int last = characters.length - 1;
+		if(!strip)
+		{
+			for(int index = start; index < last; index++)
+			{
+				if(characters[index] == ALTERNATE_COLOR_CHAR && isCode(characters[index + 1]))
+				{
+					characters[index++] = COLOR_CHAR;
+					characters[index] = Character.toLowerCase(characters[index]);
+				}
+			}
+			return characters.length;
+		}
+		int length = start;
+		for(int index = start; index < characters.length; index++)
+		{
+			char character = characters[index];
+			if(index < last && (character == COLOR_CHAR || character == ALTERNATE_COLOR_CHAR && translate) && isCode(characters[index + 1]))
+			{
+				index++;
+				continue;
+			}
+			characters[length++] = character;
+		}
+		return length;
+	}
+
+	private static int indexOfCode(String text, boolean translate)
+	{
+		int last = text.length() - 1;
+		for(int index = 0; index < last; index++)
+		{
+			char character = text.charAt(index);
+			if((character == COLOR_CHAR || translate && character == ALTERNATE_COLOR_CHAR) && isCode(text.charAt(index + 1)))
+			{
+				return index;
+			}
+		}
+		return -1;
+	}
+
+	private static final class Optimizer
+	{
+		private static final char UNKNOWN_COLOR = 0;
+		private final StringBuilder output;
+		private final char[] formatMarkers = new char[FORMATS.length()];
+		private final char[] formatCodes = new char[FORMATS.length()];
+		private char color = UNKNOWN_COLOR;
+		private int formats;
+		private boolean pending;
+		private char pendingColorMarker;
+		private char pendingColor;
+		private int pendingFormats;
+		private int pendingFormatCount;
+
+		private Optimizer(StringBuilder output)
+		{
+			this.output = output;
+		}
+
+		private void optimize(CharSequence text, boolean alternate)
+		{
+			int length = text.length();
+			for(int index = 0; index < length; index++)
+			{
+				char character = text.charAt(index);
+				boolean marker = character == COLOR_CHAR || alternate && character == ALTERNATE_COLOR_CHAR;
+				if(marker && index + 1 < length && isCode(text.charAt(index + 1)))
+				{
+					code(character, Character.toLowerCase(text.charAt(++index)));
+					continue;
+				}
+				flush();
+				this.output.append(character);
+				if(marker || character == '\n')
+				{
+					this.color = UNKNOWN_COLOR;
+					this.formats = 0;
+				}
+			}
+			flush();
+		}
+
+		private void code(char marker, char code)
+		{
+			if(!this.pending)
+			{
+				this.pending = true;
+				this.pendingColor = UNKNOWN_COLOR;
+				this.pendingFormats = this.formats;
+				this.pendingFormatCount = 0;
+			}
+			int format = FORMATS.indexOf(code);
+			if(format == -1)
+			{
+				this.pendingColorMarker = marker;
+				this.pendingColor = code;
+				this.pendingFormats = 0;
+				this.pendingFormatCount = 0;
+				return;
+			}
+			int bit = 1 << format;
+			if((this.pendingFormats & bit) == 0)
+			{
+				this.pendingFormats |= bit;
+				this.formatMarkers[this.pendingFormatCount] = marker;
+				this.formatCodes[this.pendingFormatCount++] = code;
+			}
+		}
+
+		private void flush()
+		{
+			if(!this.pending)
+			{
+				return;
+			}
+			this.pending = false;
+			boolean colorChanged = this.pendingColor != UNKNOWN_COLOR && (this.pendingColor != this.color || (this.pendingFormats & this.formats) != this.formats);
+			if(colorChanged)
+			{
+				this.output.append(this.pendingColorMarker).append(this.pendingColor);
+				this.color = this.pendingColor;
+				this.formats = 0;
+			}
+			for(int index = 0; index < this.pendingFormatCount; index++)
+			{
+				int bit = 1 << FORMATS.indexOf(this.formatCodes[index]);
+				if((this.formats & bit) == 0)
+				{
+					this.output.append(this.formatMarkers[index]).append(this.formatCodes[index]);
+					this.formats |= bit;
+				}
+			}
+		}
+	}
+
+	static
+	{
+		for(char code : "0123456789AaBbCcDdEeFfKkLlMmNnOoRr".toCharArray())
+		{
+			CODES[code] = true;
+		}
+	}
+}
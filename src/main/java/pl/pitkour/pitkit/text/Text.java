@@ -38,6 +38,9 @@ public final class Text implements Serializable
 	private String text;
 	private boolean colored;
 	private boolean uncolored;
+	private transient String rendered;
+	private transient int hash;
+	private transient BaseComponent[] components;
 
 	private Text()
 	{
@@ -49,6 +52,9 @@ public final class Text implements Serializable
 		this.text = text.text;
 		this.colored = text.colored;
 		this.uncolored = text.uncolored;
+		this.rendered = text.rendered;
+		this.hash = text.hash;
+		this.components = text.components;
 	}
 
 	private Text(BaseComponent... baseComponents)
@@ -89,6 +95,15 @@ public final class Text implements Serializable
 		return new TextBuilder(new Text());
 	}
 
+	public static TextBuilder builder(int capacity)
+	{
+		if(capacity < 0)
+		{
+			throw new IllegalArgumentException("capacity must not be negative");
+		}
+		return new TextBuilder(new Text(), capacity);
+	}
+
 	public static TextBuilder builder(Text text)
 	{
 		Objects.requireNonNull(text, "text must not be null");
@@ -110,32 +125,51 @@ public final class Text implements Serializable
 	public static String colorize(String text)
 	{
 		Objects.requireNonNull(text, "text must not be null");
-		return ChatColor.translateAlternateColorCodes('&', text);
+		return ColorCodes.translate(text);
 	}
 
 	public static String uncolorize(String text)
 	{
 		Objects.requireNonNull(text, "text must not be null");
-		return ChatColor.stripColor(text);
+		return ColorCodes.strip(text);
+	}
+
+	public Text intern()
+	{
+		return TextPool.shared().intern(this);
 	}
 
 	public void send(CommandSender receiver)
 	{
 		Objects.requireNonNull(receiver, "receiver must not be null");
-		receiver.sendMessage(toString());
+		receiver.sendMessage(asString());
 	}
 
 	public BaseComponent[] asBaseComponents()
 	{
-		return TextComponent.fromLegacyText(toString());
+		BaseComponent[] components = this.components;
+		if(components == null)
+		{
+			components = TextComponent.fromLegacyText(asString());
+			this.components = components;
+		}
+		BaseComponent[] duplicates = new BaseComponent[components.length];
+		for(int index = 0; index < components.length; index++)
+		{
+			duplicates[index] = components[index].duplicate();
+		}
+		return duplicates;
 	}
 
 	public String asString()
 	{
-		String text = this.text;
-		text = this.colored ? colorize(text) : text;
-		text = this.uncolored ? uncolorize(text) : text;
-		return text;
+		String rendered = this.rendered;
+		if(rendered == null)
+		{
+			rendered = ColorCodes.render(this.text, this.colored, this.uncolored);
+			this.rendered = rendered;
+		}
+		return rendered;
 	}
 
 	@Override
@@ -156,7 +190,13 @@ public final class Text implements Serializable
 	@Override
 	public int hashCode()
 	{
-		return Objects.hash(this.text, this.colored, this.uncolored);
+		int hash = this.hash;
+		if(hash == 0)
+		{
+			hash = Objects.hash(this.text, this.colored, this.uncolored);
+			this.hash = hash;
+		}
+		return hash;
 	}
 
 	@Override
@@ -165,6 +205,13 @@ public final class Text implements Serializable
 		return "Text{" + "text='" + this.text + '\'' + ", colored=" + this.colored + ", uncolored=" + this.uncolored + '}';
 	}
 
+	private void invalidate()
+	{
+		this.rendered = null;
+		this.hash = 0;
+		this.components = null;
+	}
+
 	public boolean isColored()
 	{
 		return this.colored;
@@ -186,6 +233,12 @@ public final class Text implements Serializable
 			this.textBuilder = new StringBuilder(text.text);
 		}
 
+		private TextBuilder(Text text, int capacity)
+		{
+			this.text = text;
+			this.textBuilder = new StringBuilder(Math.max(capacity, text.text.length())).append(text.text);
+		}
+
 		public TextBuilder date(long millis)
 		{
 			String date = TimeUtility.getDate(millis);
@@ -213,7 +266,7 @@ public final class Text implements Serializable
 		public TextBuilder brackets(Text text)
 		{
 			Objects.requireNonNull(text, "text must not be null");
-			return brackets(text.toString());
+			return brackets(text.asString());
 		}
 
 		public TextBuilder brackets(String text)
@@ -225,7 +278,7 @@ public final class Text implements Serializable
 		public TextBuilder regular(Text text)
 		{
 			Objects.requireNonNull(text, "text must not be null");
-			return regular(text.toString());
+			return regular(text.asString());
 		}
 
 		public TextBuilder regular(String text)
@@ -237,7 +290,7 @@ public final class Text implements Serializable
 		public TextBuilder highlighted(Text text)
 		{
 			Objects.requireNonNull(text, "text must not be null");
-			return highlighted(text.toString());
+			return highlighted(text.asString());
 		}
 
 		public TextBuilder highlighted(String text)
@@ -249,7 +302,7 @@ public final class Text implements Serializable
 		public TextBuilder error(Text text)
 		{
 			Objects.requireNonNull(text, "text must not be null");
-			return error(text.toString());
+			return error(text.asString());
 		}
 
 		public TextBuilder error(String text)
@@ -261,7 +314,7 @@ public final class Text implements Serializable
 		public TextBuilder errorHighlighted(Text text)
 		{
 			Objects.requireNonNull(text, "text must not be null");
-			return errorHighlighted(text.toString());
+			return errorHighlighted(text.asString());
 		}
 
 		public TextBuilder errorHighlighted(String text)
@@ -300,7 +353,7 @@ public final class Text implements Serializable
 		public TextBuilder text(Text text)
 		{
 			Objects.requireNonNull(text, "text must not be null");
-			return text(text.toString());
+			return text(text.asString());
 		}
 
 		public TextBuilder text(String text)
@@ -319,6 +372,7 @@ public final class Text implements Serializable
 		public TextBuilder colored(boolean colored)
 		{
 			this.text.colored = colored;
+			this.text.invalidate();
 			return this;
 		}
 
@@ -331,13 +385,23 @@ public final class Text implements Serializable
 		public TextBuilder uncolored(boolean uncolored)
 		{
 			this.text.uncolored = uncolored;
+			this.text.invalidate();
+			return this;
+		}
+
+		@Override
+		public TextBuilder reset()
+		{
+			this.text = new Text();
+			this.textBuilder.setLength(0);
 			return this;
 		}
 
 		@Override
 		public Text build()
 		{
-			this.text.text = this.textBuilder.toString();
+			this.text.text = this.text.uncolored ? this.textBuilder.toString() : ColorCodes.optimize(this.textBuilder, this.text.colored, new StringBuilder(this.textBuilder.length())).toString();
+			this.text.invalidate();
 			return this.text;
 		}
 	}
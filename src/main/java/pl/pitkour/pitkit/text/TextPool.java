@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+public final class TextPool
+{
+	private static final TextPool SHARED = new TextPool();
+	private final Map<Text, WeakReference<Text>> texts = new WeakHashMap<>();
+	private long hits;
+	private long misses;
+
+	public static TextPool shared()
+	{
+		return SHARED;
+	}
+
+	public Text intern(String text)
+	{
+		Objects.requireNonNull(text, "text must not be null");
+		return intern(Text.of(text));
+	}
+
+	public synchronized Text intern(Text text)
+	{
+		Objects.requireNonNull(text, "text must not be null");
+		WeakReference<Text> reference = this.texts.get(text);
+		Text interned = reference == null ? null : reference.get();
+		if(interned != null)
+		{
+			this.hits++;
+			return interned;
+		}
+		this.misses++;
+		interned = Text.of(text);
+		this.texts.put(interned, new WeakReference<>(interned));
+		return interned;
+	}
+
+	public synchronized void clear()
+	{
+		this.texts.clear();
+	}
+
+	public synchronized int size()
+	{
+		return this.texts.size();
+	}
+
+	public synchronized long getHits()
+	{
+		return this.hits;
+	}
+
+	public synchronized long getMisses()
+	{
+		return this.misses;
+	}
+
+	@Override
+	public synchronized String toString()
+	{
+		return "TextPool{" + "size=" + this.texts.size() + ", hits=" + this.hits + ", misses=" + this.misses + '}';
+	}
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import pl.pitkour.pitkit.text.message.Message;
+
+public final class TextWrapper
+{
+	public static final int CHAT_WIDTH = 320;
+	public static final int BOOK_WIDTH = 114;
+	public static final int BOOK_LINES = 14;
+	private static final int DEFAULT_GLYPH_WIDTH = 6;
+	private static final String FORMATS = "klmno";
+	private static final int BOLD = 1 << FORMATS.indexOf('l');
+	private static final byte[] GLYPH_WIDTHS = new byte[128];
+
+	private TextWrapper()
+	{
+		throw new UnsupportedOperationException("cannot create instance of utility class");
+	}
+
+	public static List<Text> wrap(Text text, int width)
+	{
+		Objects.requireNonNull(text, "text must not be null");
+		List<String> lines = wrap(text.asString(), width);
+		List<Text> texts = new ArrayList<>(lines.size());
+		for(String line : lines)
+		{
+			texts.add(Text.of(line));
+		}
+		return texts;
+	}
+
+	public static List<String> wrap(String text, int width)
+	{
+		Objects.requireNonNull(text, "text must not be null");
+		if(width <= 0)
+		{
+			throw new IllegalArgumentException("width must be positive");
+		}
+		char[] characters = text.toCharArray();
+		List<String> lines = new ArrayList<>();
+		StringBuilder line = new StringBuilder();
+		boolean bare = true;
+		char color = 0;
+		int formats = 0;
+		int lineWidth = 0;
+		int spaceIndex = -1;
+		char spaceColor = 0;
+		int spaceFormats = 0;
+		int widthAfterSpace = 0;
+		for(int index = 0; index < characters.length; index++)
+		{
+			char character = characters[index];
+			if(character == ColorCodes.COLOR_CHAR && index + 1 < characters.length && ColorCodes.isCode(characters[index + 1]))
+			{
+				char code = Character.toLowerCase(characters[++index]);
+				int format = FORMATS.indexOf(code);
+				if(format == -1)
+				{
+					color = code;
+					formats = 0;
+					if(bare)
+					{
+						line.setLength(0);
+					}
+				}
+				else
+				{
+					formats |= 1 << format;
+				}
+				line.append(character).append(code);
+				continue;
+			}
+			if(character == '\n')
+			{
+				lines.add(line.toString());
+				line = prefix(color, formats);
+				bare = true;
+				lineWidth = 0;
+				spaceIndex = -1;
+				continue;
+			}
+			int characterWidth = getWidth(character, (formats & BOLD) != 0);
+			if(lineWidth > 0 && lineWidth + characterWidth > width && character == ' ')
+			{
+				lines.add(line.toString());
+				line = prefix(color, formats);
+				bare = true;
+				lineWidth = 0;
+				spaceIndex = -1;
+				continue;
+			}
+			while(lineWidth > 0 && lineWidth + characterWidth > width)
+			{
+				if(spaceIndex == -1)
+				{
+					lines.add(line.toString());
+					line = prefix(color, formats);
+					bare = true;
+					lineWidth = 0;
+				}
+				else
+				{
+					lines.add(line.substring(0, spaceIndex));
+					boolean recolored = startsWithColor(line, spaceIndex + 1);
+					line = (recolored ? new StringBuilder() : prefix(spaceColor, spaceFormats)).append(line, spaceIndex + 1, line.length());
+					lineWidth -= widthAfterSpace;
+					spaceIndex = -1;
+				}
+			}
+			line.append(character);
+			bare = false;
+			lineWidth += characterWidth;
+			if(character == ' ')
+			{
+				spaceIndex = line.length() - 1;
+				spaceColor = color;
+				spaceFormats = formats;
+				widthAfterSpace = lineWidth;
+			}
+		}
+		lines.add(line.toString());
+		return lines;
+	}
+
+	public static List<Message> paginate(Text text)
+	{
+		return paginate(text, BOOK_WIDTH, BOOK_LINES);
+	}
+
+	public static List<Message> paginate(Text text, int width, int linesPerPage)
+	{
+		Objects.requireNonNull(text, "text must not be null");
+		if(linesPerPage <= 0)
+		{
+			throw new IllegalArgumentException("linesPerPage must be positive");
+		}
+		List<String> lines = wrap(text.asString(), width);
+		List<Message> pages = new ArrayList<>((lines.size() + linesPerPage - 1) / linesPerPage);
+		StringBuilder page = new StringBuilder();
+		for(int index = 0; index < lines.size(); index++)
+		{
+			if(index % linesPerPage != 0)
+			{
+				page.append('\n');
+			}
+			page.append(lines.get(index));
+			if(index % linesPerPage == linesPerPage - 1 || index == lines.size() - 1)
+			{
+				pages.add(Message.of(page.toString()));
+				page.setLength(0);
+			}
+		}
+		return pages;
+	}
+
+	public static int getWidth(String text)
+	{
+		Objects.requireNonNull(text, "text must not be null");
+		int width = 0;
+		boolean bold = false;
+		for(int index = 0; index < text.length(); index++)
+		{
+			char character = text.charAt(index);
+			if(character == ColorCodes.COLOR_CHAR && index + 1 < text.length() && ColorCodes.isCode(text.charAt(index + 1)))
+			{
+				char code = Character.toLowerCase(text.charAt(++index));
+				bold = code == 'l' || bold && FORMATS.indexOf(code) != -1;
+				continue;
+			}
+			width += getWidth(character, bold);
+		}
+		return width;
+	}
+
+	public static int getWidth(char character, boolean bold)
+	{
+		int width = character < GLYPH_WIDTHS.length ? GLYPH_WIDTHS[character] : DEFAULT_GLYPH_WIDTH;
+		return bold ? width + 1 : width;
+	}
+
+	private static boolean startsWithColor(CharSequence line, int index)
+	{
+		return index + 1 < line.length() && line.charAt(index) == ColorCodes.COLOR_CHAR && ColorCodes.isCode(line.charAt(index + 1)) && FORMATS.indexOf(line.charAt(index + 1)) == -1;
+	}
+
+	private static StringBuilder prefix(char color, int formats)
+	{
+		StringBuilder prefix = new StringBuilder();
+		if(color != 0 && color != 'r')
+		{
+			prefix.append(ColorCodes.COLOR_CHAR).append(color);
+		}
+		for(int format = 0; format < FORMATS.length(); format++)
+		{
+			if((formats & 1 << format) != 0)
+			{
+				prefix.append(ColorCodes.COLOR_CHAR).append(FORMATS.charAt(format));
+			}
+		}
+		return prefix;
+	}
+
+	private static void setWidth(String characters, int width)
+	{
+		for(char character : characters.toCharArray())
+		{
+			GLYPH_WIDTHS[character] = (byte)width;
+		}
+	}
+
+	static
+	{
+		for(int character = 0; character < GLYPH_WIDTHS.length; character++)
+		{
+			GLYPH_WIDTHS[character] = DEFAULT_GLYPH_WIDTH;
+		}
+		setWidth(" ", 4);
+		setWidth("!',.:;i|", 2);
+		setWidth("`l", 3);
+		setWidth("\"I[]t", 4);
+		setWidth("()*<>fk{}", 5);
+		setWidth("@~", 7);
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text.message;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.PlayerQuitEvent;
+import pl.pitkour.pitkit.listener.Listener;
+
+public final class ActionBar implements Listener<PlayerQuitEvent>
+{
+	public static final long DEFAULT_REFRESH_MILLIS = 1_500;
+	public static final long DEFAULT_HOLD_MILLIS = 2_000;
+	public static final int DEFAULT_PRIORITY = 0;
+	private final Map<UUID, Channel> channels = new HashMap<>();
+	private final long refreshMillis;
+	private final long holdMillis;
+	private final LongSupplier clock;
+	private long sentPackets;
+	private long skippedPackets;
+
+	public ActionBar()
+	{
+		this(DEFAULT_REFRESH_MILLIS, DEFAULT_HOLD_MILLIS);
+	}
+
+	public ActionBar(long refreshMillis, long holdMillis)
+	{
+		this(refreshMillis, holdMillis, System::currentTimeMillis);
+	}
+
+	ActionBar(long refreshMillis, long holdMillis, LongSupplier clock)
+	{
+		if(refreshMillis <= 0)
+		{
+			throw new IllegalArgumentException("refreshMillis must be positive");
+		}
+		if(holdMillis < refreshMillis)
+		{
+			throw new IllegalArgumentException("holdMillis must not be lower than refreshMillis");
+		}
+		this.refreshMillis = refreshMillis;
+		this.holdMillis = holdMillis;
+		this.clock = clock;
+	}
+
+	public boolean send(Player receiver, Message message)
+	{
+		return send(receiver, message, DEFAULT_PRIORITY);
+	}
+
+	public boolean send(Player receiver, Message message, int priority)
+	{
+		Objects.requireNonNull(receiver, "receiver must not be null");
+		Objects.requireNonNull(message, "message must not be null");
+		Channel channel = this.channels.computeIfAbsent(receiver.getUniqueId(), id -> new Channel());
+		if(!channel.offer(message, priority, this.clock.getAsLong(), this.refreshMillis, this.holdMillis))
+		{
+			this.skippedPackets++;
+			return false;
+		}
+		this.sentPackets++;
+		message.sendGameInfo(receiver);
+		return true;
+	}
+
+	public void remove(Player player)
+	{
+		Objects.requireNonNull(player, "player must not be null");
+		this.channels.remove(player.getUniqueId());
+	}
+
+	@Override
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void listen(PlayerQuitEvent event)
+	{
+		remove(event.getPlayer());
+	}
+
+	public long getSentPackets()
+	{
+		return this.sentPackets;
+	}
+
+	public long getSkippedPackets()
+	{
+		return this.skippedPackets;
+	}
+
+	static final class Channel
+	{
+		private String content;
+		private int priority;
+		private long sentAt;
+		private long heldUntil;
+
+		boolean offer(Message message, int priority, long now, long refreshMillis, long holdMillis)
+		{
+			boolean held = this.content != null && now < this.heldUntil;
+			if(held && priority < this.priority)
+			{
+				return false;
+			}
+			String content = message.asString();
+			if(held && content.equals(this.content) && now - this.sentAt < refreshMillis)
+			{
+				this.priority = priority;
+				this.heldUntil = now + holdMillis;
+				return false;
+			}
+			this.content = content;
+			this.priority = priority;
+			this.sentAt = now;
+			this.heldUntil = now + holdMillis;
+			return true;
+		}
+	}
+}
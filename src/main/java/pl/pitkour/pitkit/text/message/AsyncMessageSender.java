@@ -0,0 +1,244 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text.message;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import net.minecraft.server.v1_12_R1.ChatMessageType;
+import net.minecraft.server.v1_12_R1.PacketPlayOutChat;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+public final class AsyncMessageSender
+{
+	private static final CompletableFuture<Void> COMPLETED_DELIVERY = CompletableFuture.completedFuture(null);
+	private final ThreadPoolExecutor executor;
+	private final Executor mainThread;
+	private final BiFunction<Message, ChatMessageType, PacketPlayOutChat> renderer;
+	private final BiConsumer<Player, PacketPlayOutChat> sender;
+	private final Map<UUID, CompletableFuture<Void>> deliveries = new ConcurrentHashMap<>();
+	private final AtomicLong rejectedRenders = new AtomicLong();
+
+	public AsyncMessageSender(Plugin plugin, int threads, int queueCapacity)
+	{
+		this(threads, queueCapacity, mainThread(plugin), Message::asPacket, Message::sendPacket);
+	}
+
+	AsyncMessageSender(int threads, int queueCapacity, Executor mainThread, BiFunction<Message, ChatMessageType, PacketPlayOutChat> renderer, BiConsumer<Player, PacketPlayOutChat> sender)
+	{
+		if(threads < 1)
+		{
+			throw new IllegalArgumentException("threads must be positive");
+		}
+		if(queueCapacity < 1)
+		{
+			throw new IllegalArgumentException("queueCapacity must be positive");
+		}
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), new RendererThreadFactory(), new AbortPolicy());
+		this.mainThread = mainThread;
+		this.renderer = renderer;
+		this.sender = sender;
+	}
+
+	public CompletableFuture<Void> sendChat(Message message, Collection<? extends Player> receivers)
+	{
+		return send(message, receivers, ChatMessageType.CHAT);
+	}
+
+	public CompletableFuture<Void> sendGameInfo(Message message, Collection<? extends Player> receivers)
+	{
+		return send(message, receivers, ChatMessageType.GAME_INFO);
+	}
+
+	public CompletableFuture<Void> sendSystem(Message message, Collection<? extends Player> receivers)
+	{
+		return send(message, receivers, ChatMessageType.SYSTEM);
+	}
+
+	public CompletableFuture<Void> send(Message message, Collection<? extends Player> receivers, ChatMessageType messageType)
+	{
+		Objects.requireNonNull(message, "message must not be null");
+		Objects.requireNonNull(receivers, "receivers must not be null");
+		Objects.requireNonNull(messageType, "messageType must not be null");
+		Message snapshot = Message.of(message);
+		Map<UUID, Player> targets = new LinkedHashMap<>();
+		receivers.forEach(receiver -> targets.putIfAbsent(receiver.getUniqueId(), receiver));
+		if(targets.isEmpty())
+		{
+			return CompletableFuture.completedFuture(null);
+		}
+		CompletableFuture<PacketPlayOutChat> packet = render(snapshot, messageType);
+		return deliver(new ArrayList<>(targets.values()), packet);
+	}
+
+	private CompletableFuture<PacketPlayOutChat> render(Message message, ChatMessageType messageType)
+	{
+		CompletableFuture<PacketPlayOutChat> packet = new CompletableFuture<>();
+		try
+		{
+			this.executor.execute(() ->
+			{
+				try
+				{
+					packet.complete(this.renderer.apply(message, messageType));
+				}
+				catch(Throwable throwable)
+				{
+					packet.completeExceptionally(throwable);
+				}
+			});
+		}
+		catch(RejectedExecutionException exception)
+		{
+			this.rejectedRenders.incrementAndGet();
+			packet.completeExceptionally(exception);
+		}
+		return packet;
+	}
+
+	private CompletableFuture<Void> deliver(List<Player> receivers, CompletableFuture<PacketPlayOutChat> packet)
+	{
+		CompletableFuture<Void> delivery = new CompletableFuture<>();
+		CompletableFuture<?>[] previousDeliveries = new CompletableFuture<?>[receivers.size()];
+		for(int index = 0; index < previousDeliveries.length; index++)
+		{
+			int receiverIndex = index;
+			this.deliveries.compute(receivers.get(index).getUniqueId(), (id, previousDelivery) ->
+			{
+				CompletableFuture<Void> previous = previousDelivery == null ? COMPLETED_DELIVERY : previousDelivery;
+				previousDeliveries[receiverIndex] = previous.handle((ignored, throwable) -> null);
+				return delivery;
+			});
+		}
+		CompletableFuture.allOf(previousDeliveries).thenCombine(packet, (ignored, renderedPacket) -> renderedPacket).thenCompose(renderedPacket -> sendPackets(receivers, renderedPacket)).whenComplete((ignored, throwable) ->
+		{
+			receivers.forEach(receiver -> this.deliveries.remove(receiver.getUniqueId(), delivery));
+			if(throwable == null)
+			{
+				delivery.complete(null);
+			}
+			else
+			{
+				delivery.completeExceptionally(throwable instanceof CompletionException ? throwable.getCause() : throwable);
+			}
+		});
+		return delivery;
+	}
+
+	private CompletableFuture<Void> sendPackets(List<Player> receivers, PacketPlayOutChat packet)
+	{
+		CompletableFuture<Void> sent = new CompletableFuture<>();
+		try
+		{
+			this.mainThread.execute(() ->
+			{
+				Throwable failure = null;
+				for(Player receiver : receivers)
+				{
+					try
+					{
+						if(receiver.isOnline())
+						{
+							this.sender.accept(receiver, packet);
+						}
+					}
+					catch(Throwable throwable)
+					{
+						failure = throwable;
+					}
+				}
+				if(failure == null)
+				{
+					sent.complete(null);
+				}
+				else
+				{
+					sent.completeExceptionally(failure);
+				}
+			});
+		}
+		catch(RuntimeException exception)
+		{
+			sent.completeExceptionally(exception);
+		}
+		return sent;
+	}
+
+	public void shutdown()
+	{
+		this.executor.shutdown();
+	}
+
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException
+	{
+		return this.executor.awaitTermination(timeout, unit);
+	}
+
+	public int getQueuedRenders()
+	{
+		return this.executor.getQueue().size();
+	}
+
+	public int getPendingReceivers()
+	{
+		return this.deliveries.size();
+	}
+
+	public long getRejectedRenders()
+	{
+		return this.rejectedRenders.get();
+	}
+
+	private static Executor mainThread(Plugin plugin)
+	{
+		Objects.requireNonNull(plugin, "plugin must not be null");
+		return runnable -> Bukkit.getScheduler().runTask(plugin, runnable);
+	}
+
+	private static final class RendererThreadFactory implements ThreadFactory
+	{
+		private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+		@Override
+		public Thread newThread(Runnable runnable)
+		{
+			Thread thread = new Thread(runnable, "pitkit-message-renderer-" + this.threadNumber.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text.message;
+
+import java.util.List;
+import java.util.Objects;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.ChatColor;
+import pl.pitkour.pitkit.text.Text;
+import pl.pitkour.pitkit.text.message.Message.MessageBuilder;
+import pl.pitkour.pitkit.text.message.Message.MessagePart;
+import pl.pitkour.pitkit.text.message.event.ClickEvent;
+import pl.pitkour.pitkit.text.message.event.HoverEvent;
+import pl.pitkour.pitkit.text.message.event.action.ClickAction;
+import pl.pitkour.pitkit.text.message.event.action.HoverAction;
+
+public final class BaseComponentConverter
+{
+	private static final Style ROOT_STYLE = new Style();
+
+	private BaseComponentConverter()
+	{
+		throw new UnsupportedOperationException("cannot create instance of utility class");
+	}
+
+	public static Message toMessage(BaseComponent... baseComponents)
+	{
+		Objects.requireNonNull(baseComponents, "baseComponents must not be null");
+		if(baseComponents.length == 1 && isInheritable(baseComponents[0]))
+		{
+			TextComponent root = (TextComponent)baseComponents[0];
+			MessageBuilder builder = Message.builder(root.getText());
+			ROOT_STYLE.inherit(root).apply(builder);
+			appendExtra(builder, root, ROOT_STYLE);
+			return builder.build();
+		}
+		MessageBuilder builder = Message.builder();
+		for(int index = 0; index < baseComponents.length; index++)
+		{
+			BaseComponent baseComponent = baseComponents[index];
+			if(index == 0 && isRoot(baseComponent))
+			{
+				appendExtra(builder, baseComponent, ROOT_STYLE);
+				continue;
+			}
+			append(builder, baseComponent, ROOT_STYLE);
+		}
+		return builder.build();
+	}
+
+	static MessageBuilder append(MessageBuilder builder, BaseComponent baseComponent)
+	{
+		return append(builder, baseComponent, ROOT_STYLE);
+	}
+
+	private static MessageBuilder append(MessageBuilder builder, BaseComponent baseComponent, Style parentStyle)
+	{
+		Style style = parentStyle.inherit(baseComponent);
+		boolean textComponent = baseComponent instanceof TextComponent;
+		String text = textComponent ? ((TextComponent)baseComponent).getText() : baseComponent.toPlainText();
+		builder.text(text);
+		style.apply(builder);
+		if(textComponent)
+		{
+			appendExtra(builder, baseComponent, style);
+		}
+		return builder;
+	}
+
+	private static void appendExtra(MessageBuilder builder, BaseComponent baseComponent, Style style)
+	{
+		List<BaseComponent> extra = baseComponent.getExtra();
+		if(extra != null)
+		{
+			for(BaseComponent extraComponent : extra)
+			{
+				append(builder, extraComponent, style);
+			}
+		}
+	}
+
+	private static boolean isRoot(BaseComponent baseComponent)
+	{
+		boolean empty = baseComponent instanceof TextComponent && ((TextComponent)baseComponent).getText().isEmpty();
+		return empty && isUnformatted(baseComponent) && baseComponent.getHoverEvent() == null && baseComponent.getClickEvent() == null;
+	}
+
+	private static boolean isInheritable(BaseComponent root)
+	{
+		return root instanceof TextComponent && !isOverridden(root, root.getExtra());
+	}
+
+	private static boolean isOverridden(BaseComponent root, List<BaseComponent> extra)
+	{
+		if(extra == null)
+		{
+			return false;
+		}
+		for(BaseComponent component : extra)
+		{
+			boolean formatOverridden = isOverridden(root.isObfuscatedRaw(), component.isObfuscatedRaw()) || isOverridden(root.isBoldRaw(), component.isBoldRaw()) || isOverridden(root.isStrikethroughRaw(), component.isStrikethroughRaw()) || isOverridden(root.isUnderlinedRaw(), component.isUnderlinedRaw()) || isOverridden(root.isItalicRaw(), component.isItalicRaw());
+			if(formatOverridden || isOverridden(root, component.getExtra()))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isOverridden(Boolean rootFormat, Boolean format)
+	{
+		return Boolean.TRUE.equals(rootFormat) && Boolean.FALSE.equals(format);
+	}
+
+	private static boolean isUnformatted(BaseComponent component)
+	{
+		boolean formatted = component.isObfuscatedRaw() != null || component.isBoldRaw() != null || component.isStrikethroughRaw() != null || component.isUnderlinedRaw() != null || component.isItalicRaw() != null;
+		return component.getColorRaw() == null && !formatted;
+	}
+
+	public static BaseComponent[] toBaseComponents(Message message)
+	{
+		Objects.requireNonNull(message, "message must not be null");
+		List<MessagePart> parts = message.getParts();
+		TextComponent root = toBaseComponent(parts.get(0));
+		for(int index = 1; index < parts.size(); index++)
+		{
+			root.addExtra(toBaseComponent(parts.get(index)));
+		}
+		return new BaseComponent[]{root};
+	}
+
+	public static TextComponent toBaseComponent(MessagePart part)
+	{
+		Objects.requireNonNull(part, "part must not be null");
+		TextComponent component = new TextComponent(part.getText().asString());
+		ChatColor color = part.getColor();
+		if(color != null)
+		{
+			component.setColor(net.md_5.bungee.api.ChatColor.valueOf(color.name()));
+		}
+		if(part.isMagicFormat())
+		{
+			component.setObfuscated(true);
+		}
+		if(part.isBoldFormat())
+		{
+			component.setBold(true);
+		}
+		if(part.isStrikethroughFormat())
+		{
+			component.setStrikethrough(true);
+		}
+		if(part.isUnderlineFormat())
+		{
+			component.setUnderlined(true);
+		}
+		if(part.isItalicFormat())
+		{
+			component.setItalic(true);
+		}
+		HoverEvent hoverEvent = part.getHoverEvent();
+		if(hoverEvent != null)
+		{
+			net.md_5.bungee.api.chat.HoverEvent.Action action = net.md_5.bungee.api.chat.HoverEvent.Action.valueOf(hoverEvent.getAction().name());
+			BaseComponent[] value = {new TextComponent(hoverEvent.getValue().asString())};
+			component.setHoverEvent(new net.md_5.bungee.api.chat.HoverEvent(action, value));
+		}
+		ClickEvent clickEvent = part.getClickEvent();
+		if(clickEvent != null)
+		{
+			net.md_5.bungee.api.chat.ClickEvent.Action action = toBungee(clickEvent.getAction());
+			component.setClickEvent(new net.md_5.bungee.api.chat.ClickEvent(action, clickEvent.getValue().asString()));
+		}
+		return component;
+	}
+
+	private static net.md_5.bungee.api.chat.ClickEvent.Action toBungee(ClickAction action)
+	{
+		switch(action)
+		{
+			case RUN_COMMAND:
+				return net.md_5.bungee.api.chat.ClickEvent.Action.RUN_COMMAND;
+			case SUGGEST_COMMAND:
+				return net.md_5.bungee.api.chat.ClickEvent.Action.SUGGEST_COMMAND;
+			case OPEM_FILE:
+				return net.md_5.bungee.api.chat.ClickEvent.Action.OPEN_FILE;
+			case OPEN_URL:
+				return net.md_5.bungee.api.chat.ClickEvent.Action.OPEN_URL;
+			case CHANGE_PAGE:
+				return net.md_5.bungee.api.chat.ClickEvent.Action.CHANGE_PAGE;
+			default:
+				throw new IllegalArgumentException("missing click action type");
+		}
+	}
+
+	private static final class Style
+	{
+		private ChatColor color;
+		private boolean magicFormat;
+		private boolean boldFormat;
+		private boolean strikethroughFormat;
+		private boolean underlineFormat;
+		private boolean italicFormat;
+		private HoverEvent hoverEvent;
+		private ClickEvent clickEvent;
+
+		private Style inherit(BaseComponent baseComponent)
+		{
+			Style style = new Style();
+			net.md_5.bungee.api.ChatColor color = baseComponent.getColorRaw();
+			style.color = color == null ? this.color : ChatColor.valueOf(color.name());
+			style.magicFormat = inherit(baseComponent.isObfuscatedRaw(), this.magicFormat);
+			style.boldFormat = inherit(baseComponent.isBoldRaw(), this.boldFormat);
+			style.strikethroughFormat = inherit(baseComponent.isStrikethroughRaw(), this.strikethroughFormat);
+			style.underlineFormat = inherit(baseComponent.isUnderlinedRaw(), this.underlineFormat);
+			style.italicFormat = inherit(baseComponent.isItalicRaw(), this.italicFormat);
+			net.md_5.bungee.api.chat.HoverEvent hoverEvent = baseComponent.getHoverEvent();
+			style.hoverEvent = hoverEvent == null ? this.hoverEvent : new HoverEvent(HoverAction.get(hoverEvent.getAction()), toText(hoverEvent.getValue()));
+			net.md_5.bungee.api.chat.ClickEvent clickEvent = baseComponent.getClickEvent();
+			style.clickEvent = clickEvent == null ? this.clickEvent : new ClickEvent(ClickAction.get(clickEvent.getAction()), clickEvent.getValue());
+			return style;
+		}
+
+		private static Text toText(BaseComponent[] value)
+		{
+			if(value.length == 1 && value[0] instanceof TextComponent && isPlain(value[0]))
+			{
+				TextComponent component = (TextComponent)value[0];
+				return Text.of(component.getText());
+			}
+			return Text.of(value);
+		}
+
+		private static boolean isPlain(BaseComponent component)
+		{
+			boolean extended = component.getExtra() != null && !component.getExtra().isEmpty();
+			return isUnformatted(component) && !extended;
+		}
+
+		private static boolean inherit(Boolean format, boolean parentFormat)
+		{
+			return format == null ? parentFormat : format;
+		}
+
+		private void apply(MessageBuilder builder)
+		{
+			if(this.color != null)
+			{
+				builder.color(this.color);
+			}
+			builder.magic(this.magicFormat).bold(this.boldFormat).strikethrough(this.strikethroughFormat).underline(this.underlineFormat).italic(this.italicFormat);
+			if(this.hoverEvent != null)
+			{
+				builder.hover(this.hoverEvent);
+			}
+			if(this.clickEvent != null)
+			{
+				builder.click(this.clickEvent);
+			}
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text.message;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import net.minecraft.server.v1_12_R1.ChatClickable;
+import net.minecraft.server.v1_12_R1.ChatClickable.EnumClickAction;
+import net.minecraft.server.v1_12_R1.ChatComponentText;
+import net.minecraft.server.v1_12_R1.ChatHoverable;
+import net.minecraft.server.v1_12_R1.ChatHoverable.EnumHoverAction;
+import net.minecraft.server.v1_12_R1.ChatModifier;
+import net.minecraft.server.v1_12_R1.EnumChatFormat;
+import net.minecraft.server.v1_12_R1.IChatBaseComponent;
+import org.bukkit.ChatColor;
+import pl.pitkour.pitkit.text.message.Message.MessagePart;
+import pl.pitkour.pitkit.text.message.event.ClickEvent;
+import pl.pitkour.pitkit.text.message.event.HoverEvent;
+
+public final class ChatComponentConverter
+{
+	private static final Map<ChatColor, EnumChatFormat> FORMATS = new EnumMap<>(ChatColor.class);
+
+	private ChatComponentConverter()
+	{
+		throw new UnsupportedOperationException("cannot create instance of utility class");
+	}
+
+	public static IChatBaseComponent convert(Message message)
+	{
+		Objects.requireNonNull(message, "message must not be null");
+		List<MessagePart> parts = message.getParts();
+		if(parts.isEmpty())
+		{
+			return new ChatComponentText("");
+		}
+		IChatBaseComponent component = convert(parts.get(0));
+		for(int index = 1; index < parts.size(); index++)
+		{
+			component.addSibling(convert(parts.get(index)));
+		}
+		return component;
+	}
+
+	public static IChatBaseComponent convert(MessagePart part)
+	{
+		Objects.requireNonNull(part, "part must not be null");
+		ChatComponentText component = new ChatComponentText(part.getText().asString());
+		ChatModifier modifier = component.getChatModifier();
+		ChatColor color = part.getColor();
+		if(color != null)
+		{
+			modifier.setColor(FORMATS.get(color));
+		}
+		if(part.isMagicFormat())
+		{
+			modifier.setRandom(true);
+		}
+		if(part.isBoldFormat())
+		{
+			modifier.setBold(true);
+		}
+		if(part.isStrikethroughFormat())
+		{
+			modifier.setStrikethrough(true);
+		}
+		if(part.isUnderlineFormat())
+		{
+			modifier.setUnderline(true);
+		}
+		if(part.isItalicFormat())
+		{
+			modifier.setItalic(true);
+		}
+		HoverEvent hoverEvent = part.getHoverEvent();
+		if(hoverEvent != null)
+		{
+			EnumHoverAction action = EnumHoverAction.a(hoverEvent.getAction().getName());
+			if(action != null && action.a())
+			{
+				ChatComponentText value = new ChatComponentText(hoverEvent.getValue().asString());
+				modifier.setChatHoverable(new ChatHoverable(action, value));
+			}
+		}
+		ClickEvent clickEvent = part.getClickEvent();
+		if(clickEvent != null)
+		{
+			EnumClickAction action = EnumClickAction.a(clickEvent.getAction().getName());
+			if(action != null && action.a())
+			{
+				modifier.setChatClickable(new ChatClickable(action, clickEvent.getValue().asString()));
+			}
+		}
+		return component;
+	}
+
+	static
+	{
+		for(ChatColor color : ChatColor.values())
+		{
+			for(EnumChatFormat format : EnumChatFormat.values())
+			{
+				if(format.name().equals(color.name()))
+				{
+					FORMATS.put(color, format);
+				}
+			}
+		}
+	}
+}
@@ -16,24 +16,33 @@
 
 package pl.pitkour.pitkit.text.message;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectInputStream.GetField;
+import java.io.ObjectOutputStream;
+import java.io.ObjectOutputStream.PutField;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 import net.md_5.bungee.api.chat.BaseComponent;
-import net.md_5.bungee.chat.ComponentSerializer;
 import net.minecraft.server.v1_12_R1.ChatMessageType;
 import net.minecraft.server.v1_12_R1.EntityPlayer;
 import net.minecraft.server.v1_12_R1.IChatBaseComponent;
-import net.minecraft.server.v1_12_R1.IChatBaseComponent.ChatSerializer;
+import net.minecraft.server.v1_12_R1.Packet;
 import net.minecraft.server.v1_12_R1.PacketPlayOutChat;
 import net.minecraft.server.v1_12_R1.PlayerConnection;
+import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
+import org.bukkit.World;
 import org.bukkit.craftbukkit.v1_12_R1.entity.CraftPlayer;
 import org.bukkit.entity.Player;
 import pl.pitkour.pitkit.text.Text;
@@ -54,8 +63,15 @@ import static pl.pitkour.pitkit.text.Text.REGULAR_COLOR;
 public final class Message implements Serializable
 {
 	private static final long serialVersionUID = 5831073233370903808L;
-	private List<MessagePart> parts = new ArrayList<>();
-	private transient MessagePart currentPart;
+	private static final ObjectStreamField[] serialPersistentFields = {new ObjectStreamField("parts", List.class)};
+	private transient PartNode lastNode;
+	private transient boolean currentPartOwned;
+	private transient boolean hashed;
+	private transient int hash;
+	private transient List<MessagePart> parts;
+	private transient String serialized;
+	private transient IChatBaseComponent component;
+	private transient Map<ChatMessageType, PacketPlayOutChat> packets;
 
 	private Message()
 	{
@@ -64,13 +80,13 @@ public final class Message implements Serializable
 
 	private Message(Message message)
 	{
-		this.parts = message.parts.stream().map(MessagePart::new).collect(Collectors.toList());
-		this.currentPart = message.currentPart;
-	}
-
-	private Message(BaseComponent[] baseComponents)
-	{
-		Arrays.stream(baseComponents).map(MessagePart::new).forEach(this::addPart);
+		this.lastNode = message.lastNode;
+		message.currentPartOwned = false;
+		this.hashed = message.hashed;
+		this.hash = message.hash;
+		this.parts = message.parts;
+		this.serialized = message.serialized;
+		this.component = message.component;
 	}
 
 	private Message(String text)
@@ -97,7 +113,7 @@ public final class Message implements Serializable
 	public static Message of(BaseComponent... baseComponents)
 	{
 		Objects.requireNonNull(baseComponents, "baseComponents must not be null");
-		return new Message(baseComponents);
+		return BaseComponentConverter.toMessage(baseComponents);
 	}
 
 	public static Message of(String text)
@@ -126,7 +142,7 @@ public final class Message implements Serializable
 	public static MessageBuilder builder(BaseComponent... baseComponents)
 	{
 		Objects.requireNonNull(baseComponents, "baseComponents must not be null");
-		return new MessageBuilder(new Message(baseComponents));
+		return new MessageBuilder(new Message(BaseComponentConverter.toMessage(baseComponents)));
 	}
 
 	public static MessageBuilder builder(String text)
@@ -143,48 +159,129 @@ public final class Message implements Serializable
 
 	private void addPart(MessagePart part)
 	{
-		this.currentPart = part;
-		this.parts.add(part);
+		PartNode previousNode = this.lastNode;
+		if(previousNode != null)
+		{
+			previousNode.seal();
+		}
+		this.lastNode = new PartNode(previousNode, part);
+		this.currentPartOwned = true;
+		invalidate();
+	}
+
+	private MessagePart editCurrentPart()
+	{
+		if(!this.currentPartOwned)
+		{
+			MessagePart copy = new MessagePart(this.lastNode.part);
+			this.lastNode = new PartNode(this.lastNode.previousNode, copy);
+			this.currentPartOwned = true;
+		}
+		invalidate();
+		return this.lastNode.part;
+	}
+
+	private void invalidate()
+	{
+		this.hashed = false;
+		this.parts = null;
+		this.serialized = null;
+		this.component = null;
+		this.packets = null;
 	}
 
 	public void sendChat(Player receiver)
 	{
 		Objects.requireNonNull(receiver, "receiver must not be null");
-		sendPacket(receiver, ChatMessageType.CHAT);
+		sendPacket(receiver, asPacket(ChatMessageType.CHAT));
 	}
 
 	public void sendGameInfo(Player receiver)
 	{
 		Objects.requireNonNull(receiver, "receiver must not be null");
-		sendPacket(receiver, ChatMessageType.GAME_INFO);
+		sendPacket(receiver, asPacket(ChatMessageType.GAME_INFO));
 	}
 
 	public void sendSystem(Player receiver)
 	{
 		Objects.requireNonNull(receiver, "receiver must not be null");
-		sendPacket(receiver, ChatMessageType.SYSTEM);
+		sendPacket(receiver, asPacket(ChatMessageType.SYSTEM));
+	}
+
+	public void broadcast(Collection<? extends Player> receivers, ChatMessageType messageType)
+	{
+		Objects.requireNonNull(receivers, "receivers must not be null");
+		Objects.requireNonNull(messageType, "messageType must not be null");
+		broadcast(receivers, receiver -> true, messageType, Message::sendPacket);
 	}
 
-	private void sendPacket(Player receiver, ChatMessageType messageType)
+	public void broadcast(Predicate<? super Player> filter, ChatMessageType messageType)
+	{
+		Objects.requireNonNull(filter, "filter must not be null");
+		Objects.requireNonNull(messageType, "messageType must not be null");
+		broadcast(Bukkit.getOnlinePlayers(), filter, messageType, Message::sendPacket);
+	}
+
+	public void broadcast(World world, ChatMessageType messageType)
+	{
+		Objects.requireNonNull(world, "world must not be null");
+		broadcast(world.getPlayers(), messageType);
+	}
+
+	void broadcast(Iterable<? extends Player> players, Predicate<? super Player> filter, ChatMessageType messageType, BiConsumer<? super Player, ? super PacketPlayOutChat> sender)
+	{
+		PacketPlayOutChat packet = null;
+		for(Player receiver : players)
+		{
+			if(filter.test(receiver))
+			{
+				if(packet == null)
+				{
+					packet = asPacket(messageType);
+				}
+				sender.accept(receiver, packet);
+			}
+		}
+	}
+
+	static void sendPacket(Player receiver, Packet<?> packet)
 	{
-		IChatBaseComponent baseComponent = ChatSerializer.a(toString());
-		PacketPlayOutChat packet = new PacketPlayOutChat(baseComponent, messageType);
 		CraftPlayer craftPlayer = (CraftPlayer)receiver;
 		EntityPlayer entityPlayer = craftPlayer.getHandle();
 		PlayerConnection connection = entityPlayer.playerConnection;
 		connection.sendPacket(packet);
 	}
 
+	PacketPlayOutChat asPacket(ChatMessageType messageType)
+	{
+		if(this.packets == null)
+		{
+			this.packets = new EnumMap<>(ChatMessageType.class);
+		}
+		return this.packets.computeIfAbsent(messageType, type -> new PacketPlayOutChat(asComponent(), type));
+	}
+
+	IChatBaseComponent asComponent()
+	{
+		if(this.component == null)
+		{
+			this.component = ChatComponentConverter.convert(this);
+		}
+		return this.component;
+	}
+
 	public BaseComponent[] asBaseComponents()
 	{
-		return ComponentSerializer.parse(toString());
+		return BaseComponentConverter.toBaseComponents(this);
 	}
 
 	public String asString()
 	{
-		JsonArray jsonArray = new JsonArray();
-		this.parts.stream().map(MessagePart::asJsonObject).forEach(jsonArray::add);
-		return jsonArray.toString();
+		if(this.serialized == null)
+		{
+			this.serialized = MessageWriter.write(this);
+		}
+		return this.serialized;
 	}
 
 	@Override
@@ -199,24 +296,107 @@ public final class Message implements Serializable
 			return false;
 		}
 		Message that = (Message)object;
-		return Objects.equals(this.parts, that.parts);
+		if(hashCode() != that.hashCode())
+		{
+			return false;
+		}
+		PartNode node = this.lastNode;
+		PartNode thatNode = that.lastNode;
+		if(PartNode.size(node) != PartNode.size(thatNode))
+		{
+			return false;
+		}
+		while(node != thatNode)
+		{
+			if(!node.part.equals(thatNode.part))
+			{
+				return false;
+			}
+			node = node.previousNode;
+			thatNode = thatNode.previousNode;
+		}
+		return true;
 	}
 
 	@Override
 	public int hashCode()
 	{
-		return Objects.hash(this.parts);
+		if(!this.hashed)
+		{
+			this.hash = this.lastNode == null ? 1 : 31 * PartNode.hash(this.lastNode.previousNode) + this.lastNode.part.hashCode();
+			this.hashed = true;
+		}
+		return this.hash;
 	}
 
 	@Override
 	public String toString()
 	{
-		return "Message{" + "parts=" + this.parts + '}';
+		return "Message{" + "parts=" + getParts() + '}';
+	}
+
+	private void writeObject(ObjectOutputStream stream) throws IOException
+	{
+		PutField fields = stream.putFields();
+		fields.put("parts", new ArrayList<>(getParts()));
+		stream.writeFields();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException
+	{
+		GetField fields = stream.readFields();
+		List<MessagePart> parts = (List<MessagePart>)fields.get("parts", null);
+		parts.forEach(this::addPart);
 	}
 
 	public List<MessagePart> getParts()
 	{
-		return Collections.unmodifiableList(this.parts);
+		if(this.parts == null)
+		{
+			MessagePart[] parts = new MessagePart[PartNode.size(this.lastNode)];
+			for(PartNode node = this.lastNode; node != null; node = node.previousNode)
+			{
+				parts[node.size - 1] = node.part;
+			}
+			this.parts = Collections.unmodifiableList(Arrays.asList(parts));
+		}
+		return this.parts;
+	}
+
+	private static final class PartNode
+	{
+		private final PartNode previousNode;
+		private final MessagePart part;
+		private final int size;
+		private boolean sealed;
+		private int hash;
+
+		private PartNode(PartNode previousNode, MessagePart part)
+		{
+			this.previousNode = previousNode;
+			this.part = part;
+			this.size = size(previousNode) + 1;
+		}
+
+		private static int size(PartNode node)
+		{
+			return node == null ? 0 : node.size;
+		}
+
+		private static int hash(PartNode node)
+		{
+			return node == null ? 1 : node.hash;
+		}
+
+		private void seal()
+		{
+			if(!this.sealed)
+			{
+				this.hash = 31 * hash(this.previousNode) + this.part.hashCode();
+				this.sealed = true;
+			}
+		}
 	}
 
 	public static final class MessagePart implements Serializable
@@ -234,36 +414,15 @@ public final class Message implements Serializable
 
 		private MessagePart(MessagePart part)
 		{
-			this(Text.of(part.text));
+			this(part.text);
 			this.color = part.color;
 			this.magicFormat = part.magicFormat;
 			this.boldFormat = part.boldFormat;
 			this.strikethroughFormat = part.strikethroughFormat;
 			this.underlineFormat = part.underlineFormat;
 			this.italicFormat = part.italicFormat;
-			if(part.hoverEvent != null)
-			{
-				this.hoverEvent = new HoverEvent(part.hoverEvent);
-			}
-			if(part.clickEvent != null)
-			{
-				this.clickEvent = new ClickEvent(part.clickEvent);
-			}
-		}
-
-		private MessagePart(BaseComponent baseComponent)
-		{
-			this(Text.of(baseComponent.getInsertion()));
-			this.color = ChatColor.valueOf(baseComponent.getColor().name());
-			this.magicFormat = baseComponent.isObfuscated();
-			this.boldFormat = baseComponent.isBold();
-			this.strikethroughFormat = baseComponent.isStrikethrough();
-			this.underlineFormat = baseComponent.isUnderlined();
-			this.italicFormat = baseComponent.isItalic();
-			net.md_5.bungee.api.chat.HoverEvent hoverEvent = baseComponent.getHoverEvent();
-			this.hoverEvent = new HoverEvent(HoverAction.get(hoverEvent.getAction()), Text.of(hoverEvent.getValue()));
-			net.md_5.bungee.api.chat.ClickEvent clickEvent = baseComponent.getClickEvent();
-			this.clickEvent = new ClickEvent(ClickAction.get(clickEvent.getAction()), Text.of(clickEvent.getValue()));
+			this.hoverEvent = part.hoverEvent;
+			this.clickEvent = part.clickEvent;
 		}
 
 		private MessagePart(String text)
@@ -276,51 +435,6 @@ public final class Message implements Serializable
 			this.text = text;
 		}
 
-		private JsonObject asJsonObject()
-		{
-			JsonObject jsonObject = new JsonObject();
-			jsonObject.addProperty("text", this.text.toString());
-			if(this.color != null)
-			{
-				jsonObject.addProperty("color", this.color.name().toLowerCase());
-			}
-			if(this.magicFormat)
-			{
-				jsonObject.addProperty("magic", true);
-			}
-			if(this.boldFormat)
-			{
-				jsonObject.addProperty("bold", true);
-			}
-			if(this.strikethroughFormat)
-			{
-				jsonObject.addProperty("strikethrough", true);
-			}
-			if(this.underlineFormat)
-			{
-				jsonObject.addProperty("underline", true);
-			}
-			if(this.italicFormat)
-			{
-				jsonObject.addProperty("italic", true);
-			}
-			if(this.hoverEvent != null)
-			{
-				JsonObject jsonHoverEvent = new JsonObject();
-				jsonHoverEvent.addProperty("action", this.hoverEvent.getAction().getName());
-				jsonHoverEvent.addProperty("value", this.hoverEvent.getValue().toString());
-				jsonObject.add("hoverEvent", jsonHoverEvent);
-			}
-			if(this.clickEvent != null)
-			{
-				JsonObject jsonClickEvent = new JsonObject();
-				jsonClickEvent.addProperty("action", this.clickEvent.getAction().getName());
-				jsonClickEvent.addProperty("value", this.clickEvent.getValue().toString());
-				jsonObject.add("clickEvent", jsonClickEvent);
-			}
-			return jsonObject;
-		}
-
 		@Override
 		public boolean equals(Object object)
 		{
@@ -397,6 +511,7 @@ public final class Message implements Serializable
 	public static final class MessageBuilder implements Builder<Message>
 	{
 		private Message message;
+		private boolean minified;
 
 		private MessageBuilder(Message message)
 		{
@@ -505,8 +620,7 @@ public final class Message implements Serializable
 		public MessageBuilder text(BaseComponent baseComponent)
 		{
 			Objects.requireNonNull(baseComponent, "baseComponent must not be null");
-			this.message.addPart(new MessagePart(baseComponent));
-			return this;
+			return BaseComponentConverter.append(this, baseComponent);
 		}
 
 		public MessageBuilder text(String text)
@@ -532,7 +646,7 @@ public final class Message implements Serializable
 		public MessageBuilder color(ChatColor color)
 		{
 			Objects.requireNonNull(color, "color must not be null");
-			this.message.currentPart.color = color;
+			this.message.editCurrentPart().color = color;
 			return this;
 		}
 
@@ -543,7 +657,7 @@ public final class Message implements Serializable
 
 		public MessageBuilder magic(boolean magic)
 		{
-			this.message.currentPart.magicFormat = magic;
+			this.message.editCurrentPart().magicFormat = magic;
 			return this;
 		}
 
@@ -554,7 +668,7 @@ public final class Message implements Serializable
 
 		public MessageBuilder bold(boolean bold)
 		{
-			this.message.currentPart.boldFormat = bold;
+			this.message.editCurrentPart().boldFormat = bold;
 			return this;
 		}
 
@@ -565,7 +679,7 @@ public final class Message implements Serializable
 
 		public MessageBuilder strikethrough(boolean strikethrough)
 		{
-			this.message.currentPart.strikethroughFormat = strikethrough;
+			this.message.editCurrentPart().strikethroughFormat = strikethrough;
 			return this;
 		}
 
@@ -576,7 +690,7 @@ public final class Message implements Serializable
 
 		public MessageBuilder underline(boolean underline)
 		{
-			this.message.currentPart.underlineFormat = underline;
+			this.message.editCurrentPart().underlineFormat = underline;
 			return this;
 		}
 
@@ -587,7 +701,7 @@ public final class Message implements Serializable
 
 		public MessageBuilder italic(boolean italic)
 		{
-			this.message.currentPart.italicFormat = italic;
+			this.message.editCurrentPart().italicFormat = italic;
 			return this;
 		}
 
@@ -608,7 +722,7 @@ public final class Message implements Serializable
 		public MessageBuilder hover(HoverEvent event)
 		{
 			Objects.requireNonNull(event, "event must not be null");
-			this.message.currentPart.hoverEvent = event;
+			this.message.editCurrentPart().hoverEvent = event;
 			return this;
 		}
 
@@ -629,13 +743,36 @@ public final class Message implements Serializable
 		public MessageBuilder click(ClickEvent event)
 		{
 			Objects.requireNonNull(event, "event must not be null");
-			this.message.currentPart.clickEvent = event;
+			this.message.editCurrentPart().clickEvent = event;
+			return this;
+		}
+
+		public MessageBuilder minified()
+		{
+			return minified(true);
+		}
+
+		public MessageBuilder minified(boolean minified)
+		{
+			this.minified = minified;
+			return this;
+		}
+
+		@Override
+		public MessageBuilder reset()
+		{
+			this.message = new Message();
+			this.minified = false;
 			return this;
 		}
 
 		@Override
 		public Message build()
 		{
+			if(this.minified)
+			{
+				return MessageMinifier.minify(this.message).getMessage();
+			}
 			return this.message;
 		}
 	}
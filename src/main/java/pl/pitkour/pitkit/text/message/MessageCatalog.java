@@ -0,0 +1,307 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text.message;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bukkit.entity.Player;
+import pl.pitkour.pitkit.text.Text;
+import pl.pitkour.pitkit.utility.Builder;
+
+public final class MessageCatalog
+{
+	private static final int MAX_RESOLVED_LOCALES = 256;
+	private final Map<String, Map<String, Entry>> bundles;
+	private final Map<String, Entry> defaultBundle;
+	private final String defaultLocale;
+	private final Map<String, Map<String, Entry>> resolvedBundles = new ConcurrentHashMap<>();
+
+	private MessageCatalog(Map<String, Map<String, Entry>> bundles, String defaultLocale)
+	{
+		this.bundles = bundles;
+		this.defaultBundle = bundles.get(defaultLocale);
+		this.defaultLocale = defaultLocale;
+	}
+
+	public static MessageCatalogBuilder builder(String baseName)
+	{
+		Objects.requireNonNull(baseName, "baseName must not be null");
+		return new MessageCatalogBuilder(baseName);
+	}
+
+	public Text text(Player receiver, String key)
+	{
+		Objects.requireNonNull(receiver, "receiver must not be null");
+		return text(receiver.getLocale(), key);
+	}
+
+	public Text text(String locale, String key)
+	{
+		return entry(locale, key).text;
+	}
+
+	public Message message(Player receiver, String key)
+	{
+		Objects.requireNonNull(receiver, "receiver must not be null");
+		return message(receiver.getLocale(), key);
+	}
+
+	public Message message(String locale, String key)
+	{
+		return entry(locale, key).message;
+	}
+
+	public MessageTemplate template(Player receiver, String key)
+	{
+		Objects.requireNonNull(receiver, "receiver must not be null");
+		return template(receiver.getLocale(), key);
+	}
+
+	public MessageTemplate template(String locale, String key)
+	{
+		return entry(locale, key).template;
+	}
+
+	public boolean contains(String key)
+	{
+		Objects.requireNonNull(key, "key must not be null");
+		return this.defaultBundle.containsKey(key);
+	}
+
+	public Set<String> getLocales()
+	{
+		return Collections.unmodifiableSet(this.bundles.keySet());
+	}
+
+	public String getDefaultLocale()
+	{
+		return this.defaultLocale;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "MessageCatalog{" + "locales=" + this.bundles.keySet() + ", defaultLocale='" + this.defaultLocale + '\'' + '}';
+	}
+
+	private Entry entry(String locale, String key)
+	{
+		Objects.requireNonNull(key, "key must not be null");
+		Entry entry = bundle(locale).get(key);
+		if(entry == null)
+		{
+			throw new IllegalArgumentException("unknown key " + key);
+		}
+		return entry;
+	}
+
+	private Map<String, Entry> bundle(String locale)
+	{
+		if(locale == null)
+		{
+			return this.defaultBundle;
+		}
+		Map<String, Entry> bundle = this.resolvedBundles.get(locale);
+		if(bundle != null)
+		{
+			return bundle;
+		}
+		bundle = resolve(normalize(locale));
+		if(this.resolvedBundles.size() < MAX_RESOLVED_LOCALES)
+		{
+			this.resolvedBundles.put(locale, bundle);
+		}
+		return bundle;
+	}
+
+	private Map<String, Entry> resolve(String locale)
+	{
+		Map<String, Entry> bundle = this.bundles.get(locale);
+		if(bundle != null)
+		{
+			return bundle;
+		}
+		String language = language(locale);
+		bundle = this.bundles.get(language);
+		if(bundle != null)
+		{
+			return bundle;
+		}
+		for(Map.Entry<String, Map<String, Entry>> candidate : this.bundles.entrySet())
+		{
+			if(language(candidate.getKey()).equals(language))
+			{
+				return candidate.getValue();
+			}
+		}
+		return this.defaultBundle;
+	}
+
+	private static String normalize(String locale)
+	{
+		return locale.toLowerCase(Locale.ROOT).replace('-', '_');
+	}
+
+	private static String language(String locale)
+	{
+		int separator = locale.indexOf('_');
+		return separator == -1 ? locale : locale.substring(0, separator);
+	}
+
+	private static final class Entry
+	{
+		private final Text text;
+		private final Message message;
+		private final MessageTemplate template;
+
+		private Entry(String value)
+		{
+			this.text = Text.builder(value).colored().build().intern();
+			this.message = Message.of(this.text);
+			this.template = MessageTemplate.compile(this.message);
+		}
+	}
+
+	public static final class MessageCatalogBuilder implements Builder<MessageCatalog>
+	{
+		private final String baseName;
+		private ClassLoader classLoader;
+		private Set<String> locales = new LinkedHashSet<>();
+		private String defaultLocale;
+
+		private MessageCatalogBuilder(String baseName)
+		{
+			this.baseName = baseName;
+			this.classLoader = MessageCatalog.class.getClassLoader();
+		}
+
+		public MessageCatalogBuilder classLoader(ClassLoader classLoader)
+		{
+			Objects.requireNonNull(classLoader, "classLoader must not be null");
+			this.classLoader = classLoader;
+			return this;
+		}
+
+		public MessageCatalogBuilder locale(Locale locale)
+		{
+			Objects.requireNonNull(locale, "locale must not be null");
+			return locale(locale.toString());
+		}
+
+		public MessageCatalogBuilder locale(String... locales)
+		{
+			Objects.requireNonNull(locales, "locales must not be null");
+			for(String locale : locales)
+			{
+				Objects.requireNonNull(locale, "locale must not be null");
+				this.locales.add(normalize(locale));
+			}
+			return this;
+		}
+
+		public MessageCatalogBuilder defaultLocale(Locale locale)
+		{
+			Objects.requireNonNull(locale, "locale must not be null");
+			return defaultLocale(locale.toString());
+		}
+
+		public MessageCatalogBuilder defaultLocale(String locale)
+		{
+			Objects.requireNonNull(locale, "locale must not be null");
+			this.defaultLocale = normalize(locale);
+			this.locales.add(this.defaultLocale);
+			return this;
+		}
+
+		@Override
+		public MessageCatalogBuilder reset()
+		{
+			this.classLoader = MessageCatalog.class.getClassLoader();
+			this.locales = new LinkedHashSet<>();
+			this.defaultLocale = null;
+			return this;
+		}
+
+		@Override
+		public MessageCatalog build()
+		{
+			if(this.defaultLocale == null)
+			{
+				throw new IllegalStateException("missing default locale");
+			}
+			Map<String, Entry> defaultBundle = compile(load(this.defaultLocale));
+			Map<String, Map<String, Entry>> bundles = new HashMap<>();
+			for(String locale : this.locales)
+			{
+				if(locale.equals(this.defaultLocale))
+				{
+					bundles.put(locale, defaultBundle);
+					continue;
+				}
+				Map<String, Entry> bundle = new HashMap<>(defaultBundle);
+				bundle.putAll(compile(load(locale)));
+				bundles.put(locale, bundle);
+			}
+			return new MessageCatalog(bundles, this.defaultLocale);
+		}
+
+		private Properties load(String locale)
+		{
+			String name = this.baseName + '_' + locale + ".properties";
+			try(InputStream stream = this.classLoader.getResourceAsStream(name))
+			{
+				if(stream == null)
+				{
+					throw new IllegalArgumentException("missing resource " + name);
+				}
+				Properties properties = new Properties();
+				try(Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8))
+				{
+					properties.load(reader);
+				}
+				return properties;
+			}
+			catch(IOException exception)
+			{
+				throw new UncheckedIOException(exception);
+			}
+		}
+
+		private static Map<String, Entry> compile(Properties properties)
+		{
+			Map<String, Entry> bundle = new HashMap<>();
+			for(String key : properties.stringPropertyNames())
+			{
+				bundle.put(key, new Entry(properties.getProperty(key)));
+			}
+			return bundle;
+		}
+	}
+}
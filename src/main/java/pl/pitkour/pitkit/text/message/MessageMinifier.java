@@ -0,0 +1,310 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text.message;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.bukkit.ChatColor;
+import pl.pitkour.pitkit.text.Text;
+import pl.pitkour.pitkit.text.message.Message.MessageBuilder;
+import pl.pitkour.pitkit.text.message.Message.MessagePart;
+import pl.pitkour.pitkit.text.message.event.ClickEvent;
+import pl.pitkour.pitkit.text.message.event.HoverEvent;
+
+public final class MessageMinifier
+{
+	private MessageMinifier()
+	{
+		throw new UnsupportedOperationException("cannot create instance of utility class");
+	}
+
+	public static Minification minify(Message message)
+	{
+		Objects.requireNonNull(message, "message must not be null");
+		int originalLength = getLength(message);
+		List<MessagePart> parts = message.getParts();
+		if(parts.isEmpty())
+		{
+			return new Minification(message, originalLength, originalLength);
+		}
+		List<StringBuilder> texts = new ArrayList<>();
+		List<Style> styles = new ArrayList<>();
+		Style rootStyle = Style.of(parts.get(0));
+		for(int index = 0; index < parts.size(); index++)
+		{
+			MessagePart part = parts.get(index);
+			Style style = index == 0 ? rootStyle : Style.of(part).inherit(rootStyle);
+			String text = part.getText().asString();
+			if(text.isEmpty())
+			{
+				continue;
+			}
+			int last = styles.size() - 1;
+			if(last >= 0 && styles.get(last).equals(style) && texts.get(last).indexOf(String.valueOf(ChatColor.COLOR_CHAR)) == -1)
+			{
+				texts.get(last).append(text);
+				continue;
+			}
+			texts.add(new StringBuilder(text));
+			styles.add(style);
+		}
+		if(texts.isEmpty())
+		{
+			return new Minification(message, originalLength, originalLength);
+		}
+		Message minified = build(texts, styles, styles.get(0).isInheritable(styles) ? null : new Style());
+		int minifiedLength = getLength(minified);
+		Style hoistedStyle = Style.hoist(styles);
+		if(hoistedStyle != null)
+		{
+			Message hoisted = build(texts, styles, hoistedStyle);
+			int hoistedLength = getLength(hoisted);
+			if(hoistedLength < minifiedLength)
+			{
+				minified = hoisted;
+				minifiedLength = hoistedLength;
+			}
+		}
+		if(minifiedLength >= originalLength)
+		{
+			return new Minification(message, originalLength, originalLength);
+		}
+		return new Minification(minified, originalLength, minifiedLength);
+	}
+
+	private static Message build(List<StringBuilder> texts, List<Style> styles, Style hoistedStyle)
+	{
+		MessageBuilder builder;
+		Style rootStyle;
+		int start;
+		if(hoistedStyle == null)
+		{
+			rootStyle = styles.get(0);
+			builder = Message.builder(texts.get(0).toString());
+			rootStyle.apply(builder);
+			start = 1;
+		}
+		else
+		{
+			rootStyle = hoistedStyle;
+			builder = Message.builder(Text.empty());
+			rootStyle.apply(builder);
+			start = 0;
+		}
+		for(int index = start; index < texts.size(); index++)
+		{
+			builder.text(texts.get(index).toString());
+			styles.get(index).relativeTo(rootStyle).apply(builder);
+		}
+		return builder.build();
+	}
+
+	private static int getLength(Message message)
+	{
+		return message.asString().getBytes(StandardCharsets.UTF_8).length;
+	}
+
+	public static final class Minification
+	{
+		private final Message message;
+		private final int originalLength;
+		private final int minifiedLength;
+
+		private Minification(Message message, int originalLength, int minifiedLength)
+		{
+			this.message = message;
+			this.originalLength = originalLength;
+			this.minifiedLength = minifiedLength;
+		}
+
+		@Override
+		public String toString()
+		{
+			return "Minification{" + "message=" + this.message + ", originalLength=" + this.originalLength + ", minifiedLength=" + this.minifiedLength + '}';
+		}
+
+		public Message getMessage()
+		{
+			return this.message;
+		}
+
+		public int getOriginalLength()
+		{
+			return this.originalLength;
+		}
+
+		public int getMinifiedLength()
+		{
+			return this.minifiedLength;
+		}
+
+		public int getSavedBytes()
+		{
+			return this.originalLength - this.minifiedLength;
+		}
+	}
+
+	private static final class Style
+	{
+		private ChatColor color;
+		private boolean magicFormat;
+		private boolean boldFormat;
+		private boolean strikethroughFormat;
+		private boolean underlineFormat;
+		private boolean italicFormat;
+		private HoverEvent hoverEvent;
+		private ClickEvent clickEvent;
+
+		private static Style of(MessagePart part)
+		{
+			Style style = new Style();
+			style.color = part.getColor();
+			style.magicFormat = part.isMagicFormat();
+			style.boldFormat = part.isBoldFormat();
+			style.strikethroughFormat = part.isStrikethroughFormat();
+			style.underlineFormat = part.isUnderlineFormat();
+			style.italicFormat = part.isItalicFormat();
+			style.hoverEvent = part.getHoverEvent();
+			style.clickEvent = part.getClickEvent();
+			return style;
+		}
+
+		private static Style hoist(List<Style> styles)
+		{
+			Map<ChatColor, Integer> colorCounts = new EnumMap<>(ChatColor.class);
+			Style hoisted = new Style();
+			hoisted.magicFormat = true;
+			hoisted.boldFormat = true;
+			hoisted.strikethroughFormat = true;
+			hoisted.underlineFormat = true;
+			hoisted.italicFormat = true;
+			boolean colored = true;
+			for(Style style : styles)
+			{
+				if(style.color == null)
+				{
+					colored = false;
+				}
+				else
+				{
+					colorCounts.merge(style.color, 1, Integer::sum);
+				}
+				hoisted.magicFormat &= style.magicFormat;
+				hoisted.boldFormat &= style.boldFormat;
+				hoisted.strikethroughFormat &= style.strikethroughFormat;
+				hoisted.underlineFormat &= style.underlineFormat;
+				hoisted.italicFormat &= style.italicFormat;
+			}
+			if(colored)
+			{
+				hoisted.color = colorCounts.entrySet().stream().max(Map.Entry.comparingByValue()).map(Map.Entry::getKey).orElse(null);
+			}
+			boolean formatted = hoisted.magicFormat || hoisted.boldFormat || hoisted.strikethroughFormat || hoisted.underlineFormat || hoisted.italicFormat;
+			return hoisted.color != null || formatted ? hoisted : null;
+		}
+
+		private boolean isInheritable(List<Style> styles)
+		{
+			for(int index = 1; index < styles.size(); index++)
+			{
+				if(!styles.get(index).contains(this))
+				{
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private boolean contains(Style parent)
+		{
+			boolean colorContained = parent.color == null || this.color != null;
+			boolean formatsContained = (!parent.magicFormat || this.magicFormat) && (!parent.boldFormat || this.boldFormat) && (!parent.strikethroughFormat || this.strikethroughFormat) && (!parent.underlineFormat || this.underlineFormat) && (!parent.italicFormat || this.italicFormat);
+			boolean eventsContained = (parent.hoverEvent == null || this.hoverEvent != null) && (parent.clickEvent == null || this.clickEvent != null);
+			return colorContained && formatsContained && eventsContained;
+		}
+
+		private Style inherit(Style parent)
+		{
+			Style style = new Style();
+			style.color = this.color != null ? this.color : parent.color;
+			style.magicFormat = this.magicFormat || parent.magicFormat;
+			style.boldFormat = this.boldFormat || parent.boldFormat;
+			style.strikethroughFormat = this.strikethroughFormat || parent.strikethroughFormat;
+			style.underlineFormat = this.underlineFormat || parent.underlineFormat;
+			style.italicFormat = this.italicFormat || parent.italicFormat;
+			style.hoverEvent = this.hoverEvent != null ? this.hoverEvent : parent.hoverEvent;
+			style.clickEvent = this.clickEvent != null ? this.clickEvent : parent.clickEvent;
+			return style;
+		}
+
+		private Style relativeTo(Style parent)
+		{
+			Style style = new Style();
+			style.color = this.color == parent.color ? null : this.color;
+			style.magicFormat = this.magicFormat && !parent.magicFormat;
+			style.boldFormat = this.boldFormat && !parent.boldFormat;
+			style.strikethroughFormat = this.strikethroughFormat && !parent.strikethroughFormat;
+			style.underlineFormat = this.underlineFormat && !parent.underlineFormat;
+			style.italicFormat = this.italicFormat && !parent.italicFormat;
+			style.hoverEvent = Objects.equals(this.hoverEvent, parent.hoverEvent) ? null : this.hoverEvent;
+			style.clickEvent = Objects.equals(this.clickEvent, parent.clickEvent) ? null : this.clickEvent;
+			return style;
+		}
+
+		private void apply(MessageBuilder builder)
+		{
+			if(this.color != null)
+			{
+				builder.color(this.color);
+			}
+			builder.magic(this.magicFormat).bold(this.boldFormat).strikethrough(this.strikethroughFormat).underline(this.underlineFormat).italic(this.italicFormat);
+			if(this.hoverEvent != null)
+			{
+				builder.hover(this.hoverEvent);
+			}
+			if(this.clickEvent != null)
+			{
+				builder.click(this.clickEvent);
+			}
+		}
+
+		@Override
+		public boolean equals(Object object)
+		{
+			if(this == object)
+			{
+				return true;
+			}
+			if(object == null || getClass() != object.getClass())
+			{
+				return false;
+			}
+			Style that = (Style)object;
+			return this.color == that.color && this.magicFormat == that.magicFormat && this.boldFormat == that.boldFormat && this.strikethroughFormat == that.strikethroughFormat && this.underlineFormat == that.underlineFormat && this.italicFormat == that.italicFormat && Objects.equals(this.hoverEvent, that.hoverEvent) && Objects.equals(this.clickEvent, that.clickEvent);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return Objects.hash(this.color, this.magicFormat, this.boldFormat, this.strikethroughFormat, this.underlineFormat, this.italicFormat, this.hoverEvent, this.clickEvent);
+		}
+	}
+}
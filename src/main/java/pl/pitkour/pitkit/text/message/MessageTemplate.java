@@ -0,0 +1,276 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text.message;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import net.minecraft.server.v1_12_R1.ChatMessageType;
+import net.minecraft.server.v1_12_R1.IChatBaseComponent;
+import net.minecraft.server.v1_12_R1.IChatBaseComponent.ChatSerializer;
+import net.minecraft.server.v1_12_R1.PacketPlayOutChat;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import pl.pitkour.pitkit.text.Text;
+import pl.pitkour.pitkit.utility.NumberUtility;
+import pl.pitkour.pitkit.utility.TimeUtility;
+
+public final class MessageTemplate
+{
+	private static final Pattern SLOT_PATTERN = Pattern.compile("\\{\\{|\\{([A-Za-z0-9_]+)}");
+	private final String[] fragments;
+	private final int[] fragmentSlots;
+	private final List<String> slots;
+	private final int fragmentsLength;
+
+	private MessageTemplate(String serialized)
+	{
+		List<String> fragments = new ArrayList<>();
+		List<Integer> fragmentSlots = new ArrayList<>();
+		List<String> slots = new ArrayList<>();
+		StringBuilder fragment = new StringBuilder();
+		Matcher matcher = SLOT_PATTERN.matcher(serialized);
+		int start = 0;
+		while(matcher.find())
+		{
+			fragment.append(serialized, start, matcher.start());
+			start = matcher.end();
+			String slot = matcher.group(1);
+			if(slot == null)
+			{
+				fragment.append('{');
+				continue;
+			}
+			int slotIndex = slots.indexOf(slot);
+			if(slotIndex == -1)
+			{
+				slotIndex = slots.size();
+				slots.add(slot);
+			}
+			fragments.add(fragment.toString());
+			fragmentSlots.add(slotIndex);
+			fragment.setLength(0);
+		}
+		fragment.append(serialized, start, serialized.length());
+		fragments.add(fragment.toString());
+		this.fragments = fragments.toArray(new String[0]);
+		this.fragmentSlots = fragmentSlots.stream().mapToInt(Integer::intValue).toArray();
+		this.slots = Collections.unmodifiableList(slots);
+		this.fragmentsLength = fragments.stream().mapToInt(String::length).sum();
+	}
+
+	public static MessageTemplate compile(Message message)
+	{
+		Objects.requireNonNull(message, "message must not be null");
+		return new MessageTemplate(message.asString());
+	}
+
+	public TemplateArguments arguments()
+	{
+		return new TemplateArguments(this);
+	}
+
+	private String render(String[] values)
+	{
+		int valuesLength = 0;
+		for(int index = 0; index < values.length; index++)
+		{
+			if(values[index] == null)
+			{
+				throw new IllegalStateException("slot " + this.slots.get(index) + " must have a value");
+			}
+			valuesLength += values[index].length();
+		}
+		StringBuilder builder = new StringBuilder(this.fragmentsLength + valuesLength + valuesLength / 8);
+		try
+		{
+			for(int index = 0; index < this.fragmentSlots.length; index++)
+			{
+				builder.append(this.fragments[index]);
+				MessageWriter.writeEscaped(values[this.fragmentSlots[index]], builder);
+			}
+		}
+		catch(IOException exception)
+		{
+			throw new UncheckedIOException(exception);
+		}
+		builder.append(this.fragments[this.fragments.length - 1]);
+		return builder.toString();
+	}
+
+	@Override
+	public String toString()
+	{
+		return "MessageTemplate{" + "slots=" + this.slots + ", fragmentsLength=" + this.fragmentsLength + '}';
+	}
+
+	public List<String> getSlots()
+	{
+		return this.slots;
+	}
+
+	public static final class TemplateArguments
+	{
+		private final MessageTemplate template;
+		private final String[] values;
+		private String serialized;
+		private IChatBaseComponent component;
+		private Map<ChatMessageType, PacketPlayOutChat> packets;
+
+		private TemplateArguments(MessageTemplate template)
+		{
+			this.template = template;
+			this.values = new String[template.slots.size()];
+		}
+
+		public TemplateArguments date(String slot, long millis)
+		{
+			return text(slot, TimeUtility.getDate(millis));
+		}
+
+		public TemplateArguments date(String slot, long millis, ZoneId zone)
+		{
+			return text(slot, TimeUtility.getDate(millis, zone));
+		}
+
+		public TemplateArguments time(String slot, long millis)
+		{
+			return text(slot, TimeUtility.getTime(millis));
+		}
+
+		public TemplateArguments time(String slot, long millis, ZoneId zone)
+		{
+			return text(slot, TimeUtility.getTime(millis, zone));
+		}
+
+		public TemplateArguments number(String slot, long number)
+		{
+			return text(slot, NumberUtility.separateThousands(number));
+		}
+
+		public TemplateArguments number(String slot, double floatingPointNumber)
+		{
+			return text(slot, NumberUtility.separateThousands(floatingPointNumber));
+		}
+
+		public TemplateArguments text(String slot, Text text)
+		{
+			Objects.requireNonNull(text, "text must not be null");
+			return text(slot, text.asString());
+		}
+
+		public TemplateArguments text(String slot, String text)
+		{
+			Objects.requireNonNull(slot, "slot must not be null");
+			Objects.requireNonNull(text, "text must not be null");
+			int slotIndex = this.template.slots.indexOf(slot);
+			if(slotIndex == -1)
+			{
+				throw new IllegalArgumentException("unknown slot " + slot);
+			}
+			this.values[slotIndex] = text;
+			this.serialized = null;
+			this.component = null;
+			this.packets = null;
+			return this;
+		}
+
+		public void sendChat(Player receiver)
+		{
+			Objects.requireNonNull(receiver, "receiver must not be null");
+			Message.sendPacket(receiver, asPacket(ChatMessageType.CHAT));
+		}
+
+		public void sendGameInfo(Player receiver)
+		{
+			Objects.requireNonNull(receiver, "receiver must not be null");
+			Message.sendPacket(receiver, asPacket(ChatMessageType.GAME_INFO));
+		}
+
+		public void sendSystem(Player receiver)
+		{
+			Objects.requireNonNull(receiver, "receiver must not be null");
+			Message.sendPacket(receiver, asPacket(ChatMessageType.SYSTEM));
+		}
+
+		public void broadcast(Collection<? extends Player> receivers, ChatMessageType messageType)
+		{
+			Objects.requireNonNull(receivers, "receivers must not be null");
+			Objects.requireNonNull(messageType, "messageType must not be null");
+			PacketPlayOutChat packet = asPacket(messageType);
+			receivers.forEach(receiver -> Message.sendPacket(receiver, packet));
+		}
+
+		public void broadcast(Predicate<? super Player> filter, ChatMessageType messageType)
+		{
+			Objects.requireNonNull(filter, "filter must not be null");
+			Objects.requireNonNull(messageType, "messageType must not be null");
+			PacketPlayOutChat packet = asPacket(messageType);
+			for(Player receiver : Bukkit.getOnlinePlayers())
+			{
+				if(filter.test(receiver))
+				{
+					Message.sendPacket(receiver, packet);
+				}
+			}
+		}
+
+		public void broadcast(World world, ChatMessageType messageType)
+		{
+			Objects.requireNonNull(world, "world must not be null");
+			broadcast(world.getPlayers(), messageType);
+		}
+
+		PacketPlayOutChat asPacket(ChatMessageType messageType)
+		{
+			if(this.packets == null)
+			{
+				this.packets = new EnumMap<>(ChatMessageType.class);
+			}
+			return this.packets.computeIfAbsent(messageType, type -> new PacketPlayOutChat(asComponent(), type));
+		}
+
+		IChatBaseComponent asComponent()
+		{
+			if(this.component == null)
+			{
+				this.component = ChatSerializer.a(asString());
+			}
+			return this.component;
+		}
+
+		public String asString()
+		{
+			if(this.serialized == null)
+			{
+				this.serialized = this.template.render(this.values);
+			}
+			return this.serialized;
+		}
+	}
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text.message;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Objects;
+import org.bukkit.ChatColor;
+import pl.pitkour.pitkit.text.message.Message.MessagePart;
+import pl.pitkour.pitkit.text.message.event.ClickEvent;
+import pl.pitkour.pitkit.text.message.event.HoverEvent;
+
+public final class MessageWriter
+{
+	private static final int ESTIMATED_PART_LENGTH = 64;
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private MessageWriter()
+	{
+		throw new UnsupportedOperationException("cannot create instance of utility class");
+	}
+
+	public static String write(Message message)
+	{
+		Objects.requireNonNull(message, "message must not be null");
+		StringBuilder builder = new StringBuilder(message.getParts().size() * ESTIMATED_PART_LENGTH);
+		write(message, builder);
+		return builder.toString();
+	}
+
+	public static void write(Message message, StringBuilder builder)
+	{
+		try
+		{
+			write(message, (Appendable)builder);
+		}
+		catch(IOException exception)
+		{
+			throw new UncheckedIOException(exception);
+		}
+	}
+
+	public static void write(Message message, Appendable appendable) throws IOException
+	{
+		Objects.requireNonNull(message, "message must not be null");
+		Objects.requireNonNull(appendable, "appendable must not be null");
+		List<MessagePart> parts = message.getParts();
+		appendable.append('[');
+		for(int index = 0; index < parts.size(); index++)
+		{
+			if(index > 0)
+			{
+				appendable.append(',');
+			}
+			writePart(parts.get(index), appendable);
+		}
+		appendable.append(']');
+	}
+
+	private static void writePart(MessagePart part, Appendable appendable) throws IOException
+	{
+		appendable.append("{\"text\":");
+		writeString(part.getText().asString(), appendable);
+		ChatColor color = part.getColor();
+		if(color != null)
+		{
+			appendable.append(",\"color\":");
+			writeString(color.name().toLowerCase(), appendable);
+		}
+		if(part.isMagicFormat())
+		{
+			appendable.append(",\"obfuscated\":true");
+		}
+		if(part.isBoldFormat())
+		{
+			appendable.append(",\"bold\":true");
+		}
+		if(part.isStrikethroughFormat())
+		{
+			appendable.append(",\"strikethrough\":true");
+		}
+		if(part.isUnderlineFormat())
+		{
+			appendable.append(",\"underlined\":true");
+		}
+		if(part.isItalicFormat())
+		{
+			appendable.append(",\"italic\":true");
+		}
+		HoverEvent hoverEvent = part.getHoverEvent();
+		if(hoverEvent != null)
+		{
+			appendable.append(",\"hoverEvent\":{\"action\":");
+			writeString(hoverEvent.getAction().getName(), appendable);
+			appendable.append(",\"value\":");
+			writeString(hoverEvent.getValue().asString(), appendable);
+			appendable.append('}');
+		}
+		ClickEvent clickEvent = part.getClickEvent();
+		if(clickEvent != null)
+		{
+			appendable.append(",\"clickEvent\":{\"action\":");
+			writeString(clickEvent.getAction().getName(), appendable);
+			appendable.append(",\"value\":");
+			writeString(clickEvent.getValue().asString(), appendable);
+			appendable.append('}');
+		}
+		appendable.append('}');
+	}
+
+	static void writeString(String value, Appendable appendable) throws IOException
+	{
+		appendable.append('"');
+		writeEscaped(value, appendable);
+		appendable.append('"');
+	}
+
+	static void writeEscaped(String value, Appendable appendable) throws IOException
+	{
+		int start = 0;
+		int length = value.length();
+		for(int index = 0; index < length; index++)
+		{
+			char character = value.charAt(index);
+			if(!requiresEscaping(character))
+			{
+				continue;
+			}
+			if(start < index)
+			{
+				appendable.append(value, start, index);
+			}
+			String replacement = getReplacement(character);
+			if(replacement != null)
+			{
+				appendable.append(replacement);
+			}
+			else
+			{
+				appendable.append("\\u");
+				appendable.append(HEX_DIGITS[character >> 12 & 0xF]);
+				appendable.append(HEX_DIGITS[character >> 8 & 0xF]);
+				appendable.append(HEX_DIGITS[character >> 4 & 0xF]);
+				appendable.append(HEX_DIGITS[character & 0xF]);
+			}
+			start = index + 1;
+		}
+		if(start < length)
+		{
+			appendable.append(value, start, length);
+		}
+	}
+
+	private static boolean requiresEscaping(char character)
+	{
+		return character < 0x20 || character == '"' || character == '\\' || character == '\u2028' || character == '\u2029';
+	}
+
+	private static String getReplacement(char character)
+	{
+		switch(character)
+		{
+			case '"':
+				return "\\\"";
+			case '\\':
+				return "\\\\";
+			case '\t':
+				return "\\t";
+			case '\b':
+				return "\\b";
+			case '\n':
+				return "\\n";
+			case '\r':
+				return "\\r";
+			case '\f':
+				return "\\f";
+			default:
+				return null;
+		}
+	}
+}
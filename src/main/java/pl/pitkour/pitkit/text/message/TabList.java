@@ -0,0 +1,163 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text.message;
+
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Predicate;
+import net.minecraft.server.v1_12_R1.IChatBaseComponent;
+import net.minecraft.server.v1_12_R1.PacketPlayOutPlayerListHeaderFooter;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+public final class TabList implements Serializable
+{
+	private static final long serialVersionUID = 5716413541772109035L;
+	private static final Field FOOTER_FIELD = getField(PacketPlayOutPlayerListHeaderFooter.class, "b");
+	private final Message header;
+	private final Message footer;
+	private transient PacketPlayOutPlayerListHeaderFooter packet;
+	private transient IChatBaseComponent headerComponent;
+	private transient IChatBaseComponent footerComponent;
+
+	private TabList(Message header, Message footer)
+	{
+		this.header = header;
+		this.footer = footer;
+	}
+
+	public static TabList empty()
+	{
+		return new TabList(Message.empty(), Message.empty());
+	}
+
+	public static TabList of(Message header, Message footer)
+	{
+		Objects.requireNonNull(header, "header must not be null");
+		Objects.requireNonNull(footer, "footer must not be null");
+		return new TabList(header, footer);
+	}
+
+	public void send(Player receiver)
+	{
+		Objects.requireNonNull(receiver, "receiver must not be null");
+		Message.sendPacket(receiver, asPacket());
+	}
+
+	public void broadcast(Collection<? extends Player> receivers)
+	{
+		Objects.requireNonNull(receivers, "receivers must not be null");
+		PacketPlayOutPlayerListHeaderFooter packet = asPacket();
+		receivers.forEach(receiver -> Message.sendPacket(receiver, packet));
+	}
+
+	public void broadcast(Predicate<? super Player> filter)
+	{
+		Objects.requireNonNull(filter, "filter must not be null");
+		PacketPlayOutPlayerListHeaderFooter packet = asPacket();
+		for(Player receiver : Bukkit.getOnlinePlayers())
+		{
+			if(filter.test(receiver))
+			{
+				Message.sendPacket(receiver, packet);
+			}
+		}
+	}
+
+	public void broadcast(World world)
+	{
+		Objects.requireNonNull(world, "world must not be null");
+		broadcast(world.getPlayers());
+	}
+
+	PacketPlayOutPlayerListHeaderFooter asPacket()
+	{
+		IChatBaseComponent headerComponent = this.header.asComponent();
+		IChatBaseComponent footerComponent = this.footer.asComponent();
+		PacketPlayOutPlayerListHeaderFooter packet = this.packet;
+		if(packet == null || headerComponent != this.headerComponent || footerComponent != this.footerComponent)
+		{
+			packet = new PacketPlayOutPlayerListHeaderFooter(headerComponent);
+			try
+			{
+				FOOTER_FIELD.set(packet, footerComponent);
+			}
+			catch(IllegalAccessException exception)
+			{
+				throw new IllegalStateException("cannot set tab list footer", exception);
+			}
+			this.packet = packet;
+			this.headerComponent = headerComponent;
+			this.footerComponent = footerComponent;
+		}
+		return packet;
+	}
+
+	static Field getField(Class<?> type, String name)
+	{
+		try
+		{
+			Field field = type.getDeclaredField(name);
+			field.setAccessible(true);
+			return field;
+		}
+		catch(NoSuchFieldException exception)
+		{
+			throw new IllegalStateException("missing field " + name + " in " + type.getName() + ", unsupported server version", exception);
+		}
+	}
+
+	@Override
+	public boolean equals(Object object)
+	{
+		if(this == object)
+		{
+			return true;
+		}
+		if(object == null || getClass() != object.getClass())
+		{
+			return false;
+		}
+		TabList that = (TabList)object;
+		return Objects.equals(this.header, that.header) && Objects.equals(this.footer, that.footer);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return Objects.hash(this.header, this.footer);
+	}
+
+	@Override
+	public String toString()
+	{
+		return "TabList{" + "header=" + this.header + ", footer=" + this.footer + '}';
+	}
+
+	public Message getHeader()
+	{
+		return this.header;
+	}
+
+	public Message getFooter()
+	{
+		return this.footer;
+	}
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text.message;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Predicate;
+import net.minecraft.server.v1_12_R1.IChatBaseComponent;
+import net.minecraft.server.v1_12_R1.PacketPlayOutTitle;
+import net.minecraft.server.v1_12_R1.PacketPlayOutTitle.EnumTitleAction;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import pl.pitkour.pitkit.utility.Builder;
+
+public final class Title implements Serializable
+{
+	public static final int DEFAULT_FADE_IN = 10;
+	public static final int DEFAULT_STAY = 70;
+	public static final int DEFAULT_FADE_OUT = 20;
+	private static final long serialVersionUID = 1813587174962119556L;
+	private static final PacketPlayOutTitle CLEAR_PACKET = new PacketPlayOutTitle(EnumTitleAction.CLEAR, null);
+	private static final PacketPlayOutTitle RESET_PACKET = new PacketPlayOutTitle(EnumTitleAction.RESET, null);
+	private Message title;
+	private Message subtitle;
+	private int fadeIn;
+	private int stay;
+	private int fadeOut;
+	private transient PacketPlayOutTitle[] packets;
+	private transient IChatBaseComponent titleComponent;
+	private transient IChatBaseComponent subtitleComponent;
+
+	private Title()
+	{
+		this.title = Message.empty();
+		this.subtitle = Message.empty();
+		this.fadeIn = DEFAULT_FADE_IN;
+		this.stay = DEFAULT_STAY;
+		this.fadeOut = DEFAULT_FADE_OUT;
+	}
+
+	private Title(Title title)
+	{
+		this.title = title.title;
+		this.subtitle = title.subtitle;
+		this.fadeIn = title.fadeIn;
+		this.stay = title.stay;
+		this.fadeOut = title.fadeOut;
+		this.packets = title.packets;
+		this.titleComponent = title.titleComponent;
+		this.subtitleComponent = title.subtitleComponent;
+	}
+
+	public static Title of(Title title)
+	{
+		Objects.requireNonNull(title, "title must not be null");
+		return new Title(title);
+	}
+
+	public static Title of(Message title)
+	{
+		return builder().title(title).build();
+	}
+
+	public static Title of(Message title, Message subtitle)
+	{
+		return builder().title(title).subtitle(subtitle).build();
+	}
+
+	public static TitleBuilder builder()
+	{
+		return new TitleBuilder(new Title());
+	}
+
+	public static TitleBuilder builder(Title title)
+	{
+		Objects.requireNonNull(title, "title must not be null");
+		return new TitleBuilder(new Title(title));
+	}
+
+	public static void clear(Player receiver)
+	{
+		Objects.requireNonNull(receiver, "receiver must not be null");
+		Message.sendPacket(receiver, CLEAR_PACKET);
+	}
+
+	public static void reset(Player receiver)
+	{
+		Objects.requireNonNull(receiver, "receiver must not be null");
+		Message.sendPacket(receiver, RESET_PACKET);
+	}
+
+	public void send(Player receiver)
+	{
+		Objects.requireNonNull(receiver, "receiver must not be null");
+		send(receiver, asPackets());
+	}
+
+	public void broadcast(Collection<? extends Player> receivers)
+	{
+		Objects.requireNonNull(receivers, "receivers must not be null");
+		PacketPlayOutTitle[] packets = asPackets();
+		receivers.forEach(receiver -> send(receiver, packets));
+	}
+
+	public void broadcast(Predicate<? super Player> filter)
+	{
+		Objects.requireNonNull(filter, "filter must not be null");
+		PacketPlayOutTitle[] packets = asPackets();
+		for(Player receiver : Bukkit.getOnlinePlayers())
+		{
+			if(filter.test(receiver))
+			{
+				send(receiver, packets);
+			}
+		}
+	}
+
+	public void broadcast(World world)
+	{
+		Objects.requireNonNull(world, "world must not be null");
+		broadcast(world.getPlayers());
+	}
+
+	private static void send(Player receiver, PacketPlayOutTitle[] packets)
+	{
+		for(PacketPlayOutTitle packet : packets)
+		{
+			Message.sendPacket(receiver, packet);
+		}
+	}
+
+	PacketPlayOutTitle[] asPackets()
+	{
+		IChatBaseComponent titleComponent = this.title.asComponent();
+		IChatBaseComponent subtitleComponent = this.subtitle.asComponent();
+		PacketPlayOutTitle[] packets = this.packets;
+		if(packets == null)
+		{
+			PacketPlayOutTitle times = new PacketPlayOutTitle(this.fadeIn, this.stay, this.fadeOut);
+			PacketPlayOutTitle subtitle = new PacketPlayOutTitle(EnumTitleAction.SUBTITLE, subtitleComponent);
+			PacketPlayOutTitle title = new PacketPlayOutTitle(EnumTitleAction.TITLE, titleComponent);
+			packets = new PacketPlayOutTitle[]{times, subtitle, title};
+		}
+		else if(titleComponent != this.titleComponent || subtitleComponent != this.subtitleComponent)
+		{
+			PacketPlayOutTitle subtitle = subtitleComponent == this.subtitleComponent ? packets[1] : new PacketPlayOutTitle(EnumTitleAction.SUBTITLE, subtitleComponent);
+			PacketPlayOutTitle title = titleComponent == this.titleComponent ? packets[2] : new PacketPlayOutTitle(EnumTitleAction.TITLE, titleComponent);
+			packets = new PacketPlayOutTitle[]{packets[0], subtitle, title};
+		}
+		this.packets = packets;
+		this.titleComponent = titleComponent;
+		this.subtitleComponent = subtitleComponent;
+		return packets;
+	}
+
+	@Override
+	public boolean equals(Object object)
+	{
+		if(this == object)
+		{
+			return true;
+		}
+		if(object == null || getClass() != object.getClass())
+		{
+			return false;
+		}
+		Title that = (Title)object;
+		return this.fadeIn == that.fadeIn && this.stay == that.stay && this.fadeOut == that.fadeOut && Objects.equals(this.title, that.title) && Objects.equals(this.subtitle, that.subtitle);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return Objects.hash(this.title, this.subtitle, this.fadeIn, this.stay, this.fadeOut);
+	}
+
+	@Override
+	public String toString()
+	{
+		return "Title{" + "title=" + this.title + ", subtitle=" + this.subtitle + ", fadeIn=" + this.fadeIn + ", stay=" + this.stay + ", fadeOut=" + this.fadeOut + '}';
+	}
+
+	public Message getTitle()
+	{
+		return this.title;
+	}
+
+	public Message getSubtitle()
+	{
+		return this.subtitle;
+	}
+
+	public int getFadeIn()
+	{
+		return this.fadeIn;
+	}
+
+	public int getStay()
+	{
+		return this.stay;
+	}
+
+	public int getFadeOut()
+	{
+		return this.fadeOut;
+	}
+
+	public static final class TitleBuilder implements Builder<Title>
+	{
+		private Title title;
+
+		private TitleBuilder(Title title)
+		{
+			this.title = title;
+		}
+
+		public TitleBuilder title(Message title)
+		{
+			Objects.requireNonNull(title, "title must not be null");
+			this.title.title = title;
+			this.title.packets = null;
+			return this;
+		}
+
+		public TitleBuilder subtitle(Message subtitle)
+		{
+			Objects.requireNonNull(subtitle, "subtitle must not be null");
+			this.title.subtitle = subtitle;
+			this.title.packets = null;
+			return this;
+		}
+
+		public TitleBuilder times(int fadeIn, int stay, int fadeOut)
+		{
+			if(fadeIn < 0 || stay < 0 || fadeOut < 0)
+			{
+				throw new IllegalArgumentException("times must not be negative");
+			}
+			this.title.fadeIn = fadeIn;
+			this.title.stay = stay;
+			this.title.fadeOut = fadeOut;
+			this.title.packets = null;
+			return this;
+		}
+
+		@Override
+		public TitleBuilder reset()
+		{
+			this.title = new Title();
+			return this;
+		}
+
+		@Override
+		public Title build()
+		{
+			return this.title;
+		}
+	}
+}
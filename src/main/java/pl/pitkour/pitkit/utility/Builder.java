@@ -18,5 +18,10 @@ package pl.pitkour.pitkit.utility;
 
 public interface Builder<T>
 {
+	default Builder<T> reset()
+	{
+		throw new UnsupportedOperationException("builder does not support reset");
+	}
+
 	T build();
 }
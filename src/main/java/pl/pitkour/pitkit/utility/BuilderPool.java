@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.utility;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public final class BuilderPool<T, B extends Builder<T>>
+{
+	public static final int DEFAULT_MAX_SIZE = 16;
+	private final Supplier<B> factory;
+	private final int maxSize;
+	private final ThreadLocal<Deque<B>> builders = ThreadLocal.withInitial(ArrayDeque::new);
+
+	private BuilderPool(Supplier<B> factory, int maxSize)
+	{
+		this.factory = factory;
+		this.maxSize = maxSize;
+	}
+
+	public static <T, B extends Builder<T>> BuilderPool<T, B> of(Supplier<B> factory)
+	{
+		return of(factory, DEFAULT_MAX_SIZE);
+	}
+
+	public static <T, B extends Builder<T>> BuilderPool<T, B> of(Supplier<B> factory, int maxSize)
+	{
+		Objects.requireNonNull(factory, "factory must not be null");
+		if(maxSize <= 0)
+		{
+			throw new IllegalArgumentException("maxSize must be positive");
+		}
+		return new BuilderPool<>(factory, maxSize);
+	}
+
+	public B acquire()
+	{
+		B builder = this.builders.get().pollFirst();
+		return builder == null ? Objects.requireNonNull(this.factory.get(), "factory must not supply null") : builder;
+	}
+
+	public void release(B builder)
+	{
+		Objects.requireNonNull(builder, "builder must not be null");
+		builder.reset();
+		Deque<B> builders = this.builders.get();
+		if(builders.size() < this.maxSize)
+		{
+			builders.addFirst(builder);
+		}
+	}
+
+	public T build(Consumer<? super B> configuration)
+	{
+		Objects.requireNonNull(configuration, "configuration must not be null");
+		B builder = acquire();
+		try
+		{
+			configuration.accept(builder);
+			return builder.build();
+		}
+		finally
+		{
+			release(builder);
+		}
+	}
+
+	public int size()
+	{
+		return this.builders.get().size();
+	}
+}
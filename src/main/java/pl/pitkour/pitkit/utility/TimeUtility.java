@@ -20,6 +20,7 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Objects;
 
 public final class TimeUtility
 {
@@ -34,15 +35,27 @@ public final class TimeUtility
 
 	public static String getDate(long millis)
 	{
+		return getDate(millis, TIME_ZONE);
+	}
+
+	public static String getDate(long millis, ZoneId zone)
+	{
+		Objects.requireNonNull(zone, "zone must not be null");
 		Instant instant = Instant.ofEpochMilli(millis);
-		LocalDateTime time = LocalDateTime.ofInstant(instant, TIME_ZONE);
+		LocalDateTime time = LocalDateTime.ofInstant(instant, zone);
 		return time.format(DATE_FORMATTER);
 	}
 
 	public static String getTime(long millis)
 	{
+		return getTime(millis, TIME_ZONE);
+	}
+
+	public static String getTime(long millis, ZoneId zone)
+	{
+		Objects.requireNonNull(zone, "zone must not be null");
 		Instant instant = Instant.ofEpochMilli(millis);
-		LocalDateTime time = LocalDateTime.ofInstant(instant, TIME_ZONE);
+		LocalDateTime time = LocalDateTime.ofInstant(instant, zone);
 		return time.format(TIME_FORMATTER);
 	}
 }
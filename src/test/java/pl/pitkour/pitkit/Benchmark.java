@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit;
+
+import java.util.function.Supplier;
+
+public final class Benchmark
+{
+	private static final int WARMUP_ITERATIONS = 100_000;
+	private static final int MEASURED_ITERATIONS = 1_000_000;
+	private static volatile Object blackhole;
+
+	private Benchmark()
+	{
+		throw new UnsupportedOperationException("cannot create instance of utility class");
+	}
+
+	public static void run(String name, Supplier<?> operation)
+	{
+		for(int iteration = 0; iteration < WARMUP_ITERATIONS; iteration++)
+		{
+			blackhole = operation.get();
+		}
+		long start = System.nanoTime();
+		for(int iteration = 0; iteration < MEASURED_ITERATIONS; iteration++)
+		{
+			blackhole = operation.get();
+		}
+		long elapsed = System.nanoTime() - start;
+		System.out.printf("%-40s %10.1f ns/op%n", name, (double)elapsed / MEASURED_ITERATIONS);
+	}
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.bukkit.World;
+import org.junit.Test;
+
+public class EffectEngineTest
+{
+	@Test
+	public void testPacketBudget()
+	{
+		EffectEngine engine = new EffectEngine(-1, 5, () -> 0, effect -> true);
+		List<TestEffect> effects = play(engine, 4, 2, null);
+		engine.run();
+		assert plays(effects).equals("1110");
+		assert engine.getOverruns() == 1;
+		assert engine.getLastTickPackets() == 6;
+		engine.run();
+		assert plays(effects).equals("2211");
+		engine.run();
+		assert plays(effects).equals("3222");
+		assert engine.getOverruns() == 3;
+		assert engine.getFrame() == 3;
+	}
+
+	@Test
+	public void testTimeBudget()
+	{
+		AtomicLong clock = new AtomicLong();
+		EffectEngine engine = new EffectEngine(250, -1, clock::get, effect -> true);
+		List<TestEffect> effects = play(engine, 5, 1, clock);
+		engine.run();
+		assert plays(effects).equals("11100");
+		assert engine.getLastTickNanos() == 300;
+		engine.run();
+		assert plays(effects).equals("21111");
+		assert engine.getOverruns() == 2;
+		EffectEngine unlimited = new EffectEngine(-1, -1, clock::get, effect -> true);
+		effects.forEach(unlimited::play);
+		unlimited.run();
+		assert plays(effects).equals("32222");
+		assert unlimited.getOverruns() == 0;
+	}
+
+	@Test
+	public void testFirstEffectAlwaysPlays()
+	{
+		AtomicLong clock = new AtomicLong();
+		EffectEngine engine = new EffectEngine(1, -1, clock::get, effect -> true);
+		List<TestEffect> effects = play(engine, 3, 1, clock);
+		for(int tick = 0; tick < 3; tick++)
+		{
+			engine.run();
+		}
+		assert plays(effects).equals("111");
+		assert engine.getOverruns() == 3;
+	}
+
+	@Test
+	public void testInvisibleEffectsArePaused()
+	{
+		List<TestEffect> visible = new ArrayList<>();
+		EffectEngine engine = new EffectEngine(-1, -1, () -> 0, visible::contains);
+		List<TestEffect> effects = play(engine, 3, 1, null);
+		visible.add(effects.get(1));
+		engine.run();
+		assert plays(effects).equals("010");
+		assert engine.getPausedEffects() == 2;
+		assert engine.getActiveEffects() == 1;
+		assert engine.getEffects() == 3;
+		visible.addAll(effects);
+		engine.run();
+		assert plays(effects).equals("121");
+		assert engine.getPausedEffects() == 0;
+		assert engine.getActiveEffects() == 3;
+	}
+
+	@Test
+	public void testVisibilityIsCheckedOnlyWhenDue()
+	{
+		List<Effect> checked = new ArrayList<>();
+		EffectEngine engine = new EffectEngine(-1, -1, () -> 0, effect -> checked.add(effect));
+		List<TestEffect> effects = play(engine, 2, 1, null);
+		effects.get(1).interval = 3;
+		for(int tick = 0; tick < 6; tick++)
+		{
+			engine.run();
+		}
+		assert plays(effects).equals("62");
+		assert checked.size() == 8;
+		assert engine.getPausedEffects() == 0;
+		assert engine.getActiveEffects() == 1;
+	}
+
+	@Test
+	public void testSkippedEffectsAreNotActive()
+	{
+		EffectEngine engine = new EffectEngine(-1, 5, () -> 0, effect -> true);
+		List<TestEffect> effects = play(engine, 4, 2, null);
+		engine.run();
+		assert plays(effects).equals("1110");
+		assert engine.getActiveEffects() == 3;
+		assert engine.getPausedEffects() == 0;
+	}
+
+	@Test
+	public void testFinishedAndCancelledEffects()
+	{
+		EffectEngine engine = new EffectEngine(-1, -1, () -> 0, effect -> true);
+		List<TestEffect> effects = play(engine, 4, 1, null);
+		effects.get(0).duration = 1;
+		engine.cancel(effects.get(2));
+		engine.run();
+		assert plays(effects).equals("1101");
+		assert engine.getEffects() == 2;
+		engine.run();
+		assert plays(effects).equals("1202");
+		effects.get(1).onPlay = () -> engine.cancel(effects.get(3));
+		engine.run();
+		assert plays(effects).equals("1303");
+		assert engine.getEffects() == 1;
+		engine.cancelAll();
+		engine.run();
+		assert plays(effects).equals("1303");
+		assert engine.getEffects() == 0;
+	}
+
+	private static List<TestEffect> play(EffectEngine engine, int count, int packets, AtomicLong clock)
+	{
+		List<TestEffect> effects = new ArrayList<>();
+		for(int index = 0; index < count; index++)
+		{
+			TestEffect effect = new TestEffect(packets, clock);
+			effects.add(effect);
+			engine.play(effect);
+		}
+		return effects;
+	}
+
+	private static String plays(List<TestEffect> effects)
+	{
+		StringBuilder builder = new StringBuilder();
+		effects.forEach(effect -> builder.append(effect.plays));
+		return builder.toString();
+	}
+
+	private static final class TestEffect implements Effect
+	{
+		private final int packets;
+		private final AtomicLong clock;
+		private int plays;
+		private int duration = -1;
+		private int interval = 1;
+		private Runnable onPlay;
+
+		private TestEffect(int packets, AtomicLong clock)
+		{
+			this.packets = packets;
+			this.clock = clock;
+		}
+
+		@Override
+		public World getWorld()
+		{
+			return null;
+		}
+
+		@Override
+		public double getX()
+		{
+			return 0;
+		}
+
+		@Override
+		public double getY()
+		{
+			return 0;
+		}
+
+		@Override
+		public double getZ()
+		{
+			return 0;
+		}
+
+		@Override
+		public double getVisibilityDistance()
+		{
+			return 0;
+		}
+
+		@Override
+		public int play(int frame)
+		{
+			this.plays++;
+			if(this.clock != null)
+			{
+				this.clock.addAndGet(100);
+			}
+			if(this.onPlay != null)
+			{
+				this.onPlay.run();
+			}
+			return this.packets;
+		}
+
+		@Override
+		public boolean isDue(int frame)
+		{
+			return frame % this.interval == 0;
+		}
+
+		@Override
+		public boolean isFinished()
+		{
+			return this.duration != -1 && this.plays >= this.duration;
+		}
+	}
+}
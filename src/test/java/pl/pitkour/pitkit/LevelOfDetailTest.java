@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit;
+
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import org.bukkit.entity.Player;
+import org.junit.Test;
+
+public class LevelOfDetailTest
+{
+	private static LevelOfDetail createLevelOfDetail()
+	{
+		return LevelOfDetail.builder().level(16, 1).level(32, 0.5).level(64, 0.25, 4).build();
+	}
+
+	@Test
+	public void testBuckets()
+	{
+		LevelOfDetail levelOfDetail = createLevelOfDetail();
+		int full = LevelOfDetail.DENSITY_STEPS;
+		assert levelOfDetail.getBuckets() == 3 * (LevelOfDetail.DENSITY_STEPS + 1);
+		assert levelOfDetail.getMaxDistance() == 64;
+		int near = levelOfDetail.getBucket(full, 10 * 10, 1);
+		int middle = levelOfDetail.getBucket(full, 20 * 20, 1);
+		assert near != middle;
+		assert levelOfDetail.getBucket(full, 16 * 16, 7) == near;
+		assert levelOfDetail.getBucket(full, 65 * 65, 0) == -1;
+		assert levelOfDetail.getBucket(0, 0, 0) == -1;
+		assert levelOfDetail.getBucket(full - 1, 0, 0) != near;
+	}
+
+	@Test
+	public void testFrameSkipping()
+	{
+		LevelOfDetail levelOfDetail = createLevelOfDetail();
+		int sent = 0;
+		for(int frame = 0; frame < 20; frame++)
+		{
+			if(levelOfDetail.getBucket(LevelOfDetail.DENSITY_STEPS, 50 * 50, frame) != -1)
+			{
+				sent++;
+			}
+		}
+		assert sent == 5;
+	}
+
+	@Test
+	public void testCountScaling()
+	{
+		LevelOfDetail levelOfDetail = createLevelOfDetail();
+		int full = LevelOfDetail.DENSITY_STEPS;
+		assert levelOfDetail.getCount(40, levelOfDetail.getBucket(full, 0, 0)) == 40;
+		assert levelOfDetail.getCount(40, levelOfDetail.getBucket(full, 20 * 20, 0)) == 20;
+		assert levelOfDetail.getCount(40, levelOfDetail.getBucket(full / 2, 20 * 20, 0)) == 10;
+		assert levelOfDetail.getCount(1, levelOfDetail.getBucket(1, 50 * 50, 0)) == 1;
+		assert levelOfDetail.getCount(0, levelOfDetail.getBucket(full, 50 * 50, 0)) == 0;
+	}
+
+	@Test
+	public void testDensityIsForgotten()
+	{
+		UUID id = UUID.randomUUID();
+		Player player = (Player)Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[]{Player.class}, (proxy, method, arguments) -> method.getName().equals("getUniqueId") ? id : null);
+		int densities = LevelOfDetail.getDensities();
+		LevelOfDetail.density(player, 0.5);
+		assert LevelOfDetail.getDensity(player) == 0.5;
+		assert LevelOfDetail.getDensities() == densities + 1;
+		LevelOfDetail.density(player, 1);
+		assert LevelOfDetail.getDensities() == densities;
+		LevelOfDetail.density(player, 0.25);
+		LevelOfDetail.resetDensity(player);
+		assert LevelOfDetail.getDensity(player) == 1;
+		assert LevelOfDetail.getDensities() == densities;
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDecreasingDistances()
+	{
+		LevelOfDetail.builder().level(32, 1).level(16, 0.5);
+	}
+}
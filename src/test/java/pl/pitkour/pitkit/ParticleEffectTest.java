@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit;
+
+import java.lang.reflect.Proxy;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.junit.Test;
+
+public class ParticleEffectTest
+{
+	@Test
+	public void testShapeExtendsVisibilityDistance()
+	{
+		Particles particles = Particles.builder(Particle.FLAME).visibilityDistance(16).build();
+		assert ParticleEffect.of(world(), particles).getVisibilityDistance() == 16;
+		Shape line = Shape.line(0, 40, 0, 41);
+		assert ParticleEffect.builder(world(), particles).shape(line).build().getVisibilityDistance() == 16 + line.getRadius();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testShapeRejectsLevelOfDetail()
+	{
+		ParticleEffect.builder(world(), Particles.of(Particle.FLAME)).shape(Shape.circle(1, 8)).levelOfDetail(levelOfDetail());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testLevelOfDetailRejectsShape()
+	{
+		ParticleEffect.builder(world(), Particles.of(Particle.FLAME)).levelOfDetail(levelOfDetail()).shape(Shape.circle(1, 8));
+	}
+
+	private static LevelOfDetail levelOfDetail()
+	{
+		return LevelOfDetail.builder().level(16, 1).level(32, 0.5).build();
+	}
+
+	private static World world()
+	{
+		return (World)Proxy.newProxyInstance(World.class.getClassLoader(), new Class<?>[]{World.class}, (proxy, method, arguments) -> null);
+	}
+}
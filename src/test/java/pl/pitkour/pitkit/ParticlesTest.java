@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit;
+
+import org.bukkit.Particle;
+import org.junit.Test;
+import pl.pitkour.pitkit.Particles.ParticlesBuilder;
+
+public class ParticlesTest
+{
+	@Test
+	public void testFrozenPacketIsReused()
+	{
+		Particles particles = Particles.builder(Particle.FLAME).location(1, 2, 3).count(5).frozen(true).build();
+		assert particles.isFrozen();
+		assert particles.asPacket() == particles.asPacket();
+		assert Particles.of(particles).asPacket() == particles.asPacket();
+		Particles unfrozen = Particles.builder(particles).frozen(false).build();
+		assert !unfrozen.isFrozen();
+		assert unfrozen.asPacket() != unfrozen.asPacket();
+	}
+
+	@Test
+	public void testBuilderInvalidatesFrozenPacket()
+	{
+		ParticlesBuilder builder = Particles.builder(Particle.FLAME).frozen(true);
+		Particles particles = builder.build();
+		Object packet = particles.asPacket();
+		builder.visibilityDistance(64);
+		assert particles.asPacket() == packet;
+		builder.x(1);
+		assert particles.asPacket() != packet;
+		packet = particles.asPacket();
+		builder.count(3);
+		assert particles.asPacket() != packet;
+		packet = particles.asPacket();
+		builder.color(255, 0, 0);
+		assert particles.asPacket() != packet;
+		packet = particles.asPacket();
+		builder.particle(Particle.HEART);
+		assert particles.asPacket() != packet;
+		packet = particles.asPacket();
+		builder.data(new int[]{1});
+		assert particles.asPacket() != packet;
+	}
+
+	@Test
+	public void testFrozenShapePacketsAreReused()
+	{
+		ParticlesBuilder builder = Particles.builder(Particle.REDSTONE).frozen(true);
+		Particles particles = builder.build();
+		Shape circle = Shape.circle(1, 16);
+		Object[] packets = particles.asPackets(circle);
+		assert packets.length == 16;
+		assert particles.asPackets(circle) == packets;
+		assert particles.asPackets(Shape.circle(2, 16)) != packets;
+		packets = particles.asPackets(circle);
+		builder.extra(1);
+		assert particles.asPackets(circle) != packets;
+		Particles unfrozen = Particles.of(Particle.REDSTONE);
+		assert unfrozen.asPackets(circle) != unfrozen.asPackets(circle);
+	}
+}
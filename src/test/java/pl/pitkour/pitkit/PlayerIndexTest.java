@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit;
+
+import java.lang.reflect.Proxy;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.junit.Test;
+
+public class PlayerIndexTest
+{
+	private static final UUID WORLD = new UUID(0, 1);
+	private static final UUID OTHER_WORLD = new UUID(0, 2);
+
+	@Test
+	public void testNearbyPlayers()
+	{
+		PlayerIndex index = new PlayerIndex();
+		index.update(new UUID(1, 1), null, WORLD, 0, 64, 0);
+		index.update(new UUID(1, 2), null, WORLD, 20, 64, 20);
+		index.update(new UUID(1, 3), null, WORLD, 100, 64, 0);
+		index.update(new UUID(1, 4), null, OTHER_WORLD, 0, 64, 0);
+		index.sweep();
+		assert count(index, WORLD, 0, 64, 0, 32) == 2;
+		assert count(index, WORLD, 0, 64, 0, 10) == 1;
+		assert count(index, WORLD, 0, 0, 0, 32) == 0;
+		assert count(index, OTHER_WORLD, 0, 64, 0, 32) == 1;
+		assert count(index, WORLD, 0, 64, 0, 100_000) == 3;
+	}
+
+	@Test
+	public void testIncrementalUpdates()
+	{
+		PlayerIndex index = new PlayerIndex();
+		UUID player = new UUID(1, 1);
+		index.update(player, null, WORLD, 0, 64, 0);
+		index.sweep();
+		index.update(player, null, WORLD, 500, 64, -500);
+		index.sweep();
+		assert count(index, WORLD, 0, 64, 0, 32) == 0;
+		assert count(index, WORLD, 500, 64, -500, 32) == 1;
+		index.update(player, null, OTHER_WORLD, 500, 64, -500);
+		index.sweep();
+		assert count(index, WORLD, 500, 64, -500, 32) == 0;
+		assert count(index, OTHER_WORLD, 500, 64, -500, 32) == 1;
+		index.sweep();
+		assert index.size() == 0;
+		assert count(index, OTHER_WORLD, 500, 64, -500, 32) == 0;
+	}
+
+	@Test
+	public void testStopsWhenPluginIsDisabled()
+	{
+		Plugin plugin = plugin("Foo");
+		PlayerIndex index = PlayerIndex.activate(plugin);
+		try
+		{
+			assert PlayerIndex.getRunning() == index;
+			index.listen(new PluginDisableEvent(plugin("Bar")));
+			assert PlayerIndex.isRunning();
+			index.listen(new PluginDisableEvent(plugin));
+			assert !PlayerIndex.isRunning();
+			assert PlayerIndex.activate(plugin) != index;
+		}
+		finally
+		{
+			PlayerIndex running = PlayerIndex.getRunning();
+			if(running != null)
+			{
+				running.stop();
+			}
+		}
+	}
+
+	@Test
+	public void testParityWithLinearScan()
+	{
+		Random random = new Random(0);
+		PlayerIndex index = new PlayerIndex();
+		double[][] positions = new double[300][];
+		for(int player = 0; player < positions.length; player++)
+		{
+			positions[player] = new double[]{random.nextGaussian() * 200, random.nextDouble() * 256, random.nextGaussian() * 200};
+			index.update(new UUID(1, player), null, WORLD, positions[player][0], positions[player][1], positions[player][2]);
+		}
+		index.sweep();
+		for(int query = 0; query < 1_000; query++)
+		{
+			double x = random.nextGaussian() * 200;
+			double y = random.nextDouble() * 256;
+			double z = random.nextGaussian() * 200;
+			double distance = random.nextDouble() * 128;
+			int expected = 0;
+			for(double[] position : positions)
+			{
+				double distanceX = position[0] - x;
+				double distanceY = position[1] - y;
+				double distanceZ = position[2] - z;
+				if(distanceX * distanceX + distanceY * distanceY + distanceZ * distanceZ <= distance * distance)
+				{
+					expected++;
+				}
+			}
+			assert count(index, WORLD, x, y, z, distance) == expected;
+			assert index.isAnyNearby(WORLD, x, y, z, distance) == expected > 0;
+		}
+	}
+
+	private static int count(PlayerIndex index, UUID world, double x, double y, double z, double distance)
+	{
+		AtomicInteger count = new AtomicInteger();
+		index.forEachNearby(world, x, y, z, distance, player -> count.incrementAndGet());
+		return count.get();
+	}
+
+	private static Plugin plugin(String name)
+	{
+		return (Plugin)Proxy.newProxyInstance(Plugin.class.getClassLoader(), new Class<?>[]{Plugin.class}, (proxy, method, arguments) -> method.getName().equals("getName") ? name : null);
+	}
+}
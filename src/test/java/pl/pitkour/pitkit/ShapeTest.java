@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit;
+
+import org.junit.Test;
+
+public class ShapeTest
+{
+	private static final double EPSILON = 0.01;
+
+	@Test
+	public void testTrigonometryTables()
+	{
+		for(double angle = -10; angle < 10; angle += 0.001)
+		{
+			assert Math.abs(Shape.sin(angle) - Math.sin(angle)) < EPSILON;
+			assert Math.abs(Shape.cos(angle) - Math.cos(angle)) < EPSILON;
+		}
+	}
+
+	@Test
+	public void testShapesAreCached()
+	{
+		assert Shape.circle(2, 32) == Shape.circle(2, 32);
+		assert Shape.circle(2, 32) != Shape.circle(3, 32);
+		assert Shape.sphere(2, 32) != Shape.helix(2, 32, 1, 32);
+	}
+
+	@Test
+	public void testPoints()
+	{
+		Shape circle = Shape.circle(2, 64);
+		assert circle.size() == 64;
+		for(int point = 0; point < circle.size(); point++)
+		{
+			assert Math.abs(Math.hypot(circle.getX(point), circle.getZ(point)) - 2) < 2 * EPSILON;
+			assert circle.getY(point) == 0;
+		}
+		Shape sphere = Shape.sphere(3, 100);
+		for(int point = 0; point < sphere.size(); point++)
+		{
+			double radius = Math.sqrt(sphere.getX(point) * sphere.getX(point) + sphere.getY(point) * sphere.getY(point) + sphere.getZ(point) * sphere.getZ(point));
+			assert Math.abs(radius - 3) < 3 * EPSILON;
+		}
+		Shape line = Shape.line(0, 10, 0, 11);
+		assert line.getY(0) == 0 && line.getY(5) == 5 && line.getY(10) == 10;
+		Shape helix = Shape.helix(1, 4, 2, 9);
+		assert helix.getY(8) == 4;
+	}
+
+	@Test
+	public void testRadius()
+	{
+		assert Math.abs(Shape.circle(2, 64).getRadius() - 2) < 2 * EPSILON;
+		assert Math.abs(Shape.sphere(3, 100).getRadius() - 3) < 3 * EPSILON;
+		assert Shape.line(0, 10, 0, 11).getRadius() == 10;
+		assert Math.abs(Shape.cuboid(2, 2, 2, 1).getRadius() - Math.sqrt(3)) < EPSILON;
+	}
+
+	@Test
+	public void testCuboidOutline()
+	{
+		Shape cuboid = Shape.cuboid(2, 2, 2, 1);
+		assert cuboid.size() == 8 + 12;
+		for(int point = 0; point < cuboid.size(); point++)
+		{
+			int edges = 0;
+			edges += Math.abs(Math.abs(cuboid.getX(point)) - 1) < EPSILON ? 1 : 0;
+			edges += Math.abs(Math.abs(cuboid.getY(point)) - 1) < EPSILON ? 1 : 0;
+			edges += Math.abs(Math.abs(cuboid.getZ(point)) - 1) < EPSILON ? 1 : 0;
+			assert edges >= 2;
+		}
+	}
+}
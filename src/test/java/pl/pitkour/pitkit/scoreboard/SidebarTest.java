@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.scoreboard;
+
+import java.util.List;
+import net.minecraft.server.v1_12_R1.Packet;
+import net.minecraft.server.v1_12_R1.PacketPlayOutScoreboardObjective;
+import net.minecraft.server.v1_12_R1.PacketPlayOutScoreboardTeam;
+import org.junit.Test;
+import pl.pitkour.pitkit.text.Text;
+
+public class SidebarTest
+{
+	@Test
+	public void testSplit()
+	{
+		String[] affixes = Sidebar.split("§9Foo");
+		assert affixes[0].equals("§9Foo") && affixes[1].isEmpty();
+		affixes = Sidebar.split("§9§lFooBarBazQux FooBarBazQux");
+		assert affixes[0].equals("§9§lFooBarBazQux");
+		assert affixes[1].equals("§9§l FooBarBazQu");
+		affixes = Sidebar.split("FooBarBazQuxFoo§7Bar");
+		assert affixes[0].equals("FooBarBazQuxFoo");
+		assert affixes[1].equals("§7Bar");
+	}
+
+	@Test
+	public void testOnlyChangesAreRendered()
+	{
+		Sidebar sidebar = new Sidebar(null).title(Text.of("Title")).lines(Text.of("Foo"), Text.of("Bar"), Text.of("Baz"));
+		assert sidebar.render().size() == 2 + 3 * 2;
+		assert sidebar.render().isEmpty();
+		sidebar.line(1, Text.of("Qux"));
+		List<Packet<?>> packets = sidebar.render();
+		assert packets.size() == 1 && packets.get(0) instanceof PacketPlayOutScoreboardTeam;
+		sidebar.title(Text.of("Other"));
+		packets = sidebar.render();
+		assert packets.size() == 1 && packets.get(0) instanceof PacketPlayOutScoreboardObjective;
+	}
+
+	@Test
+	public void testRemovedLines()
+	{
+		Sidebar sidebar = new Sidebar(null).lines(Text.of("Foo"), Text.of("Bar"), Text.of("Baz"));
+		sidebar.render();
+		sidebar.lines(Text.of("Foo"));
+		assert sidebar.render().size() == 2 * 2;
+		assert sidebar.getLines().size() == 1;
+		sidebar.line(2, Text.of("Baz"));
+		assert sidebar.render().size() == 2 * 2;
+	}
+}
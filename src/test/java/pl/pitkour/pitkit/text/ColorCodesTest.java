@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text;
+
+import java.util.Random;
+import org.bukkit.ChatColor;
+import org.junit.Test;
+
+public class ColorCodesTest
+{
+	private static final String ALPHABET = "&§09afAFklorKLORgxz ";
+	private static final String OPTIMIZER_ALPHABET = "&§§§79rRlLmox\n ";
+
+	@Test
+	public void testParityWithBukkit()
+	{
+		Random random = new Random(0);
+		for(int iteration = 0; iteration < 100_000; iteration++)
+		{
+			String text = randomText(random);
+			String translated = ChatColor.translateAlternateColorCodes('&', text);
+			assert ColorCodes.translate(text).equals(translated) : text;
+			assert ColorCodes.strip(text).equals(ChatColor.stripColor(text)) : text;
+			assert ColorCodes.translateAndStrip(text).equals(ChatColor.stripColor(translated)) : text;
+		}
+	}
+
+	@Test
+	public void testRenderingIntoBuilder()
+	{
+		StringBuilder output = new StringBuilder("> ");
+		ColorCodes.translate("&7Foo &Lbar&", output);
+		assert output.toString().equals("> §7Foo §lbar&");
+		output.setLength(0);
+		ColorCodes.translateAndStrip("&7Foo §Lbar&", output);
+		assert output.toString().equals("Foo bar&");
+	}
+
+	@Test
+	public void testUnchangedTextIsReturned()
+	{
+		String text = "Foo & bar";
+		assert ColorCodes.translateAndStrip(text) == text;
+		assert ColorCodes.render("&7Foo", false, false).equals("&7Foo");
+	}
+
+	@Test
+	public void testRedundantCodesAreDropped()
+	{
+		assert ColorCodes.optimize("§7Foo §7bar §9baz", false).equals("§7Foo bar §9baz");
+		assert ColorCodes.optimize("§7§lFoo §7§lbar §7baz", false).equals("§7§lFoo bar §7baz");
+		assert ColorCodes.optimize("§9§7§l§lFoo§7§l§o bar", false).equals("§7§lFoo§o bar");
+		assert ColorCodes.optimize("§lFoo §lbar", false).equals("§lFoo bar");
+		assert ColorCodes.optimize("&7Foo &7bar §7baz", true).equals("&7Foo bar baz");
+		assert ColorCodes.optimize("&7Foo &7bar", false).equals("&7Foo &7bar");
+		assert ColorCodes.optimize("§7Foo\n§7bar§7", false).equals("§7Foo\n§7bar");
+		assert ColorCodes.optimize("§7Foo§x§7bar", false).equals("§7Foo§x§7bar");
+	}
+
+	@Test
+	public void testOptimizationPreservesRendering()
+	{
+		Random random = new Random(0);
+		for(int iteration = 0; iteration < 100_000; iteration++)
+		{
+			String text = randomText(random, OPTIMIZER_ALPHABET);
+			boolean alternate = random.nextBoolean();
+			String optimized = ColorCodes.optimize(text, alternate);
+			assert optimized.length() <= text.length() : text;
+			assert render(optimized, alternate, 'f', 0).equals(render(text, alternate, 'f', 0)) : text;
+			assert render(optimized, alternate, '5', 1 << 4).equals(render(text, alternate, '5', 1 << 4)) : text;
+		}
+	}
+
+	@Test
+	public void testTextBuilderOutputIsOptimized()
+	{
+		Text text = Text.builder().regular("Foo").space().regular("bar").space().highlighted("baz").regular(".").build();
+		assert text.asString().equals("§7Foo bar §9baz§7.");
+		Text colored = Text.builder("&7Foo ").regular("bar").colored().build();
+		assert colored.asString().equals("§7Foo bar");
+	}
+
+	private static String render(String text, boolean alternate, char color, int formats)
+	{
+		StringBuilder rendering = new StringBuilder();
+		for(int index = 0; index < text.length(); index++)
+		{
+			char character = text.charAt(index);
+			boolean marker = character == ColorCodes.COLOR_CHAR || alternate && character == ColorCodes.ALTERNATE_COLOR_CHAR;
+			if(marker && index + 1 < text.length() && ColorCodes.isCode(text.charAt(index + 1)))
+			{
+				char code = Character.toLowerCase(text.charAt(++index));
+				int format = "klmno".indexOf(code);
+				if(format == -1)
+				{
+					color = code;
+					formats = 0;
+				}
+				else
+				{
+					formats |= 1 << format;
+				}
+				continue;
+			}
+			rendering.append(character).append(color).append(formats).append(' ');
+		}
+		return rendering.append(color).append(formats).toString();
+	}
+
+	private static String randomText(Random random)
+	{
+		return randomText(random, ALPHABET);
+	}
+
+	private static String randomText(Random random, String alphabet)
+	{
+		char[] characters = new char[random.nextInt(12)];
+		for(int index = 0; index < characters.length; index++)
+		{
+			characters[index] = alphabet.charAt(random.nextInt(alphabet.length()));
+		}
+		return new String(characters);
+	}
+}
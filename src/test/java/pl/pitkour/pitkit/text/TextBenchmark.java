@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text;
+
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.ChatColor;
+import pl.pitkour.pitkit.Benchmark;
+
+public final class TextBenchmark
+{
+	private TextBenchmark()
+	{
+		throw new UnsupportedOperationException("cannot create instance of utility class");
+	}
+
+	public static void main(String[] arguments)
+	{
+		String raw = "&8> &7Welcome back, &9&lPitceR&7! You have &91,024 &7coins.";
+		Text text = Text.builder(raw).colored().build();
+		Text uncolored = Text.builder(raw).colored().uncolored().build();
+		String translated = ChatColor.translateAlternateColorCodes('&', raw);
+		StringBuilder output = new StringBuilder();
+		Benchmark.run("bukkit translate", () -> ChatColor.translateAlternateColorCodes('&', raw));
+		Benchmark.run("fused translate", () -> ColorCodes.translate(raw));
+		Benchmark.run("bukkit strip", () -> ChatColor.stripColor(translated));
+		Benchmark.run("fused strip", () -> ColorCodes.strip(translated));
+		Benchmark.run("bukkit translate and strip", () -> ChatColor.stripColor(ChatColor.translateAlternateColorCodes('&', raw)));
+		Benchmark.run("fused translate and strip", () -> ColorCodes.translateAndStrip(raw));
+		Benchmark.run("fused translate and strip, reused builder", () ->
+		{
+			output.setLength(0);
+			return ColorCodes.translateAndStrip(raw, output);
+		});
+		Benchmark.run("text render, uncached", () -> Text.colorize(raw));
+		Benchmark.run("text render, cached", text::asString);
+		Benchmark.run("uncolored text render, uncached", () -> Text.uncolorize(Text.colorize(raw)));
+		Benchmark.run("uncolored text render, cached", uncolored::asString);
+		Benchmark.run("text components, parsed", () -> TextComponent.fromLegacyText(text.asString()));
+		Benchmark.run("text components, cached", text::asBaseComponents);
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text;
+
+import org.junit.Test;
+import pl.pitkour.pitkit.text.Text.TextBuilder;
+
+public class TextPoolTest
+{
+	@Test
+	public void testEqualTextsAreShared()
+	{
+		TextPool pool = new TextPool();
+		Text text = pool.intern("Foo");
+		assert pool.intern("Foo") == text;
+		assert pool.intern(Text.of("Foo")) == text;
+		assert pool.intern(Text.builder("Foo").colored().build()) != text;
+		assert pool.size() == 2;
+		assert pool.getHits() == 2;
+		assert pool.getMisses() == 2;
+	}
+
+	@Test
+	public void testInternedTextIsDetachedFromBuilder()
+	{
+		TextPool pool = new TextPool();
+		TextBuilder builder = Text.builder("Foo");
+		Text text = builder.build();
+		Text interned = pool.intern(text);
+		assert interned != text;
+		builder.text(" bar").build();
+		assert interned.asString().equals("Foo");
+		assert pool.intern("Foo") == interned;
+	}
+
+	@Test
+	public void testClear()
+	{
+		TextPool pool = new TextPool();
+		Text text = pool.intern("Foo");
+		pool.clear();
+		assert pool.size() == 0;
+		assert pool.intern("Foo") != text;
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.junit.Test;
+import pl.pitkour.pitkit.text.Text.TextBuilder;
+
+public class TextTest
+{
+	@Test
+	public void testRenderingIsCached()
+	{
+		Text text = Text.builder("&7Foo &9bar").colored().build();
+		String rendered = text.asString();
+		assert rendered.equals("§7Foo §9bar");
+		assert text.asString() == rendered;
+	}
+
+	@Test
+	public void testBuilderInvalidatesRendering()
+	{
+		TextBuilder builder = Text.builder("&7Foo").colored();
+		Text text = builder.build();
+		assert text.asString().equals("§7Foo");
+		builder.uncolored();
+		assert text.asString().equals("Foo");
+		builder.text(" bar").build();
+		assert text.asString().equals("Foo bar");
+		builder.colored(false).uncolored(false);
+		assert text.asString().equals("&7Foo bar");
+	}
+
+	@Test
+	public void testComponentsAreCachedAndDetached()
+	{
+		Text text = Text.builder("&7Foo &9bar").colored().build();
+		BaseComponent[] components = text.asBaseComponents();
+		assert TextComponent.toLegacyText(components).equals(TextComponent.toLegacyText(TextComponent.fromLegacyText("§7Foo §9bar")));
+		components[0].setBold(true);
+		assert !TextComponent.toLegacyText(text.asBaseComponents()).equals(TextComponent.toLegacyText(components));
+		assert text.asBaseComponents()[0] != text.asBaseComponents()[0];
+	}
+
+	@Test
+	public void testTextsAreAppendedRendered()
+	{
+		Text highlighted = Text.builder("&lFoo").colored().build();
+		Text text = Text.builder().text(highlighted).build();
+		assert text.asString().equals("§lFoo");
+	}
+
+	@Test
+	public void testRenderingAfterDeserialization() throws IOException, ClassNotFoundException
+	{
+		Text text = Text.builder("&7Foo").colored().build();
+		text.asString();
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try(ObjectOutputStream stream = new ObjectOutputStream(output))
+		{
+			stream.writeObject(text);
+		}
+		try(ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(output.toByteArray())))
+		{
+			Text deserialized = (Text)stream.readObject();
+			assert deserialized.equals(text);
+			assert deserialized.asString().equals("§7Foo");
+		}
+	}
+}
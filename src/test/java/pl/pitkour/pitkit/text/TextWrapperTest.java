@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import pl.pitkour.pitkit.text.message.Message;
+
+public class TextWrapperTest
+{
+	@Test
+	public void testGlyphWidths()
+	{
+		assert TextWrapper.getWidth("Foo") == 18;
+		assert TextWrapper.getWidth("il! ") == 11;
+		assert TextWrapper.getWidth("'\"") == 6;
+		assert TextWrapper.getWidth("§lFoo§7 bar") == 21 + 22;
+	}
+
+	@Test
+	public void testWrapAtSpaces()
+	{
+		List<String> lines = TextWrapper.wrap("Foo bar baz", 40);
+		assert lines.equals(Arrays.asList("Foo bar", "baz")) : lines;
+		assert TextWrapper.wrap("Foo bar", 18).equals(Arrays.asList("Foo", "bar"));
+		assert TextWrapper.wrap("Foo\nbar", 100).equals(Arrays.asList("Foo", "bar"));
+	}
+
+	@Test
+	public void testWrapLongWords()
+	{
+		assert TextWrapper.wrap("FooBar", 18).equals(Arrays.asList("Foo", "Bar"));
+		assert TextWrapper.wrap("W", 1).equals(Arrays.asList("W"));
+	}
+
+	@Test
+	public void testContinuationLinesFit()
+	{
+		List<String> lines = TextWrapper.wrap("i @@@", 20);
+		assert lines.equals(Arrays.asList("i", "@@", "@")) : lines;
+		Random random = new Random(0);
+		String alphabet = "il! '\"@~WAfk ";
+		for(int iteration = 0; iteration < 1000; iteration++)
+		{
+			StringBuilder text = new StringBuilder();
+			for(int index = random.nextInt(80); index > 0; index--)
+			{
+				text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+			}
+			int width = 8 + random.nextInt(60);
+			for(String line : TextWrapper.wrap(text.toString(), width))
+			{
+				assert TextWrapper.getWidth(line) <= width : line;
+			}
+		}
+	}
+
+	@Test
+	public void testCodesAreCarried()
+	{
+		List<String> lines = TextWrapper.wrap("§9§lFoo bar §7baz qux", 40);
+		assert lines.equals(Arrays.asList("§9§lFoo", "§9§lbar", "§7baz qux")) : lines;
+		for(String line : lines)
+		{
+			assert TextWrapper.getWidth(line) <= 40;
+		}
+	}
+
+	@Test
+	public void testWrapText()
+	{
+		Text text = Text.builder().regular("Foo").space().highlighted("bar").build();
+		List<Text> lines = TextWrapper.wrap(text, 20);
+		assert lines.equals(Arrays.asList(Text.of("§7Foo"), Text.of("§9bar"))) : lines;
+		assert TextWrapper.wrap("§7§lFoo §9bar", 24).equals(Arrays.asList("§7§lFoo", "§9bar"));
+	}
+
+	@Test
+	public void testPaginate()
+	{
+		StringBuilder words = new StringBuilder();
+		for(int index = 0; index < 100; index++)
+		{
+			words.append("word ");
+		}
+		List<Message> pages = TextWrapper.paginate(Text.of(words.toString()));
+		List<String> lines = TextWrapper.wrap(words.toString(), TextWrapper.BOOK_WIDTH);
+		assert pages.size() == (lines.size() + TextWrapper.BOOK_LINES - 1) / TextWrapper.BOOK_LINES;
+		assert pages.get(0).equals(Message.of(String.join("\n", lines.subList(0, TextWrapper.BOOK_LINES))));
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text.message;
+
+import org.junit.Test;
+import pl.pitkour.pitkit.text.message.ActionBar.Channel;
+import pl.pitkour.pitkit.text.message.Message.MessageBuilder;
+
+public class ActionBarTest
+{
+	private static final long REFRESH_MILLIS = ActionBar.DEFAULT_REFRESH_MILLIS;
+	private static final long HOLD_MILLIS = ActionBar.DEFAULT_HOLD_MILLIS;
+
+	@Test
+	public void testIdenticalContentIsSkippedUntilRefresh()
+	{
+		Channel channel = new Channel();
+		assert offer(channel, Message.of("Foo"), 0, 0);
+		int sent = 0;
+		for(long now = 50; now < 10_000; now += 50)
+		{
+			if(offer(channel, Message.of("Foo"), 0, now))
+			{
+				sent++;
+			}
+		}
+		assert sent == 10_000 / REFRESH_MILLIS;
+	}
+
+	@Test
+	public void testChangedContentIsSentImmediately()
+	{
+		Channel channel = new Channel();
+		assert offer(channel, Message.of("Foo"), 0, 0);
+		assert offer(channel, Message.of("Bar"), 0, 50);
+		assert !offer(channel, Message.of("Bar"), 0, 100);
+	}
+
+	@Test
+	public void testMutatedMessageIsSentImmediately()
+	{
+		Channel channel = new Channel();
+		MessageBuilder builder = Message.builder("Foo");
+		Message message = builder.build();
+		assert offer(channel, message, 0, 0);
+		assert !offer(channel, message, 0, 50);
+		builder.text("Bar");
+		assert offer(channel, message, 0, 100);
+		assert !offer(channel, message, 0, 150);
+	}
+
+	@Test
+	public void testHigherPriorityHoldsChannel()
+	{
+		Channel channel = new Channel();
+		assert offer(channel, Message.of("Hud"), 0, 0);
+		assert offer(channel, Message.of("Kill"), 10, 50);
+		assert !offer(channel, Message.of("Hud"), 0, 100);
+		assert !offer(channel, Message.of("Hud"), 0, 50 + HOLD_MILLIS - 1);
+		assert offer(channel, Message.of("Hud"), 0, 50 + HOLD_MILLIS);
+	}
+
+	private static boolean offer(Channel channel, Message message, int priority, long now)
+	{
+		return channel.offer(message, priority, now, REFRESH_MILLIS, HOLD_MILLIS);
+	}
+}
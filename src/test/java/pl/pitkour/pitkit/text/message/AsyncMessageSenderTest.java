@@ -0,0 +1,259 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text.message;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import net.minecraft.server.v1_12_R1.ChatMessageType;
+import net.minecraft.server.v1_12_R1.PacketPlayOutChat;
+import org.bukkit.entity.Player;
+import org.junit.After;
+import org.junit.Test;
+
+public class AsyncMessageSenderTest
+{
+	private static final String MAIN_THREAD = "main-thread";
+	private final ExecutorService mainThread = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, MAIN_THREAD));
+	private final Map<PacketPlayOutChat, Message> rendered = new ConcurrentHashMap<>();
+	private final List<Message> sent = Collections.synchronizedList(new ArrayList<>());
+	private final List<String> senderThreads = Collections.synchronizedList(new ArrayList<>());
+	private final Map<Player, List<Message>> received = new ConcurrentHashMap<>();
+	private final AtomicInteger hops = new AtomicInteger();
+
+	@After
+	public void tearDown()
+	{
+		this.mainThread.shutdownNow();
+	}
+
+	@Test
+	public void testDeliveriesKeepPerPlayerOrder() throws Exception
+	{
+		CountDownLatch firstRender = new CountDownLatch(1);
+		AsyncMessageSender sender = sender(4, 64, (message, type) ->
+		{
+			if(message.equals(Message.of("0")))
+			{
+				await(firstRender);
+			}
+			return render(message, type);
+		});
+		Player player = player();
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		List<Message> expected = new ArrayList<>();
+		for(int index = 0; index < 20; index++)
+		{
+			Message message = Message.of(String.valueOf(index));
+			expected.add(message);
+			futures.add(sender.sendChat(message, Collections.singletonList(player)));
+		}
+		Thread.sleep(50);
+		assert this.sent.isEmpty();
+		firstRender.countDown();
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+		assert this.sent.equals(expected);
+		assert this.senderThreads.stream().allMatch(MAIN_THREAD::equals);
+		assert sender.getPendingReceivers() == 0;
+		sender.shutdown();
+	}
+
+	@Test
+	public void testBroadcastUsesSingleMainThreadHop() throws Exception
+	{
+		AsyncMessageSender sender = sender(2, 16, this::render);
+		Player first = player();
+		Player second = player();
+		Player third = player();
+		sender.sendChat(Message.of("Foo"), Arrays.asList(first, second, third, first)).get(5, TimeUnit.SECONDS);
+		assert this.hops.get() == 1;
+		assert this.sent.size() == 3;
+		assert this.senderThreads.stream().allMatch(MAIN_THREAD::equals);
+		sender.shutdown();
+	}
+
+	@Test
+	public void testBatchedDeliveriesKeepPerPlayerOrder() throws Exception
+	{
+		CountDownLatch firstRender = new CountDownLatch(1);
+		AsyncMessageSender sender = sender(2, 16, (message, type) ->
+		{
+			if(message.equals(Message.of("Foo")))
+			{
+				await(firstRender);
+			}
+			return render(message, type);
+		});
+		Player first = player();
+		Player second = player();
+		CompletableFuture<Void> foo = sender.sendChat(Message.of("Foo"), Arrays.asList(first, second));
+		CompletableFuture<Void> bar = sender.sendChat(Message.of("Bar"), Collections.singletonList(second));
+		CompletableFuture<Void> baz = sender.sendChat(Message.of("Baz"), Collections.singletonList(player()));
+		baz.get(5, TimeUnit.SECONDS);
+		assert !bar.isDone();
+		firstRender.countDown();
+		CompletableFuture.allOf(foo, bar).get(5, TimeUnit.SECONDS);
+		assert this.received.get(first).equals(Collections.singletonList(Message.of("Foo")));
+		assert this.received.get(second).equals(Arrays.asList(Message.of("Foo"), Message.of("Bar")));
+		assert sender.getPendingReceivers() == 0;
+		sender.shutdown();
+	}
+
+	@Test
+	public void testRenderFailureDoesNotBlockLaterMessages() throws Exception
+	{
+		AsyncMessageSender sender = sender(2, 16, (message, type) ->
+		{
+			if(message.equals(Message.of("Bad")))
+			{
+				throw new IllegalStateException("render failed");
+			}
+			return render(message, type);
+		});
+		Player player = player();
+		CompletableFuture<Void> failed = sender.sendChat(Message.of("Bad"), Collections.singletonList(player));
+		CompletableFuture<Void> delivered = sender.sendChat(Message.of("Good"), Collections.singletonList(player));
+		delivered.get(5, TimeUnit.SECONDS);
+		assert getCause(failed) instanceof IllegalStateException;
+		assert this.sent.equals(Collections.singletonList(Message.of("Good")));
+		sender.shutdown();
+	}
+
+	@Test
+	public void testSendAfterShutdownFails() throws Exception
+	{
+		AsyncMessageSender sender = sender(1, 16, this::render);
+		Player player = player();
+		sender.sendChat(Message.of("Foo"), Collections.singletonList(player)).get(5, TimeUnit.SECONDS);
+		sender.shutdown();
+		assert sender.awaitTermination(5, TimeUnit.SECONDS);
+		CompletableFuture<Void> rejected = sender.sendChat(Message.of("Bar"), Collections.singletonList(player));
+		assert getCause(rejected) instanceof RejectedExecutionException;
+		assert this.sent.equals(Collections.singletonList(Message.of("Foo")));
+		assert sender.getPendingReceivers() == 0;
+	}
+
+	@Test
+	public void testFullQueueIsRejectedWithoutRenderingOnCaller() throws Exception
+	{
+		CountDownLatch release = new CountDownLatch(1);
+		Thread caller = Thread.currentThread();
+		AsyncMessageSender sender = sender(1, 1, (message, type) ->
+		{
+			assert Thread.currentThread() != caller;
+			await(release);
+			return render(message, type);
+		});
+		Player player = player();
+		CompletableFuture<Void> first = sender.sendChat(Message.of("Foo"), Collections.singletonList(player));
+		CompletableFuture<Void> second = sender.sendChat(Message.of("Bar"), Collections.singletonList(player));
+		while(sender.getQueuedRenders() != 1)
+		{
+			Thread.sleep(1);
+		}
+		CompletableFuture<Void> third = sender.sendChat(Message.of("Baz"), Collections.singletonList(player()));
+		assert getCause(third) instanceof RejectedExecutionException;
+		assert sender.getRejectedRenders() == 1;
+		release.countDown();
+		CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+		assert this.sent.equals(Arrays.asList(Message.of("Foo"), Message.of("Bar")));
+		sender.shutdown();
+	}
+
+	private AsyncMessageSender sender(int threads, int queueCapacity, BiFunction<Message, ChatMessageType, PacketPlayOutChat> renderer)
+	{
+		Executor mainThread = runnable ->
+		{
+			this.hops.incrementAndGet();
+			this.mainThread.execute(runnable);
+		};
+		return new AsyncMessageSender(threads, queueCapacity, mainThread, renderer, (receiver, packet) ->
+		{
+			this.senderThreads.add(Thread.currentThread().getName());
+			this.sent.add(this.rendered.get(packet));
+			this.received.computeIfAbsent(receiver, player -> Collections.synchronizedList(new ArrayList<>())).add(this.rendered.get(packet));
+		});
+	}
+
+	private PacketPlayOutChat render(Message message, ChatMessageType messageType)
+	{
+		PacketPlayOutChat packet = new PacketPlayOutChat(null, messageType);
+		this.rendered.put(packet, message);
+		return packet;
+	}
+
+	private static Throwable getCause(CompletableFuture<Void> future) throws Exception
+	{
+		try
+		{
+			future.get(5, TimeUnit.SECONDS);
+		}
+		catch(ExecutionException exception)
+		{
+			return exception.getCause();
+		}
+		return null;
+	}
+
+	private static void await(CountDownLatch latch)
+	{
+		try
+		{
+			latch.await();
+		}
+		catch(InterruptedException exception)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static Player player()
+	{
+		UUID id = UUID.randomUUID();
+		return (Player)Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[]{Player.class}, (proxy, method, arguments) ->
+		{
+			switch(method.getName())
+			{
+				case "getUniqueId":
+					return id;
+				case "isOnline":
+					return true;
+				case "hashCode":
+					return id.hashCode();
+				case "equals":
+					return proxy == arguments[0];
+				default:
+					return null;
+			}
+		});
+	}
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text.message;
+
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.chat.ComponentSerializer;
+import pl.pitkour.pitkit.Benchmark;
+
+public final class BaseComponentConverterBenchmark
+{
+	private BaseComponentConverterBenchmark()
+	{
+		throw new UnsupportedOperationException("cannot create instance of utility class");
+	}
+
+	public static void main(String[] arguments)
+	{
+		Message message = MessageWriterTest.createMessage();
+		BaseComponent[] components = BaseComponentConverter.toBaseComponents(message);
+		Benchmark.run("message to components, json", () -> ComponentSerializer.parse(MessageWriter.write(message)));
+		Benchmark.run("message to components, direct", () -> BaseComponentConverter.toBaseComponents(message));
+		Benchmark.run("components to message", () -> BaseComponentConverter.toMessage(components));
+	}
+}
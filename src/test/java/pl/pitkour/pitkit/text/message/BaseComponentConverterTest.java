@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text.message;
+
+import java.util.List;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.ClickEvent;
+import net.md_5.bungee.api.chat.ComponentBuilder;
+import net.md_5.bungee.api.chat.HoverEvent;
+import net.md_5.bungee.api.chat.TextComponent;
+import net.md_5.bungee.chat.ComponentSerializer;
+import org.bukkit.ChatColor;
+import org.junit.Test;
+import pl.pitkour.pitkit.text.message.Message.MessagePart;
+import pl.pitkour.pitkit.text.message.event.action.ClickAction;
+
+public class BaseComponentConverterTest
+{
+	@Test
+	public void testParityWithJson()
+	{
+		Message message = MessageWriterTest.createMessage();
+		BaseComponent[] converted = BaseComponentConverter.toBaseComponents(message);
+		assert ComponentSerializer.toString(toRoot(ComponentSerializer.parse(message.asString()))).equals(ComponentSerializer.toString(converted));
+	}
+
+	@Test
+	public void testRootStyleIsInherited()
+	{
+		Message message = Message.builder("Foo").color(ChatColor.BLUE).bold(true).click(ClickAction.RUN_COMMAND, "/foo").text("Bar").build();
+		BaseComponent[] converted = message.asBaseComponents();
+		assert converted.length == 1;
+		assert ComponentSerializer.toString(converted).equals(ComponentSerializer.toString(toRoot(ComponentSerializer.parse(message.asString()))));
+		BaseComponent bar = converted[0].getExtra().get(0);
+		assert bar.isBold();
+		assert bar.getColor() == net.md_5.bungee.api.ChatColor.BLUE;
+		assert TextComponent.toLegacyText(converted).equals("\u00a79\u00a7lFoo\u00a79\u00a7lBar");
+	}
+
+	@Test
+	public void testRoundTrip()
+	{
+		Message message = MessageWriterTest.createMessage();
+		Message converted = BaseComponentConverter.toMessage(BaseComponentConverter.toBaseComponents(message));
+		assert converted.getParts().equals(message.getParts());
+		assert converted.equals(BaseComponentConverter.toMessage(BaseComponentConverter.toBaseComponents(converted)));
+	}
+
+	@Test
+	public void testOverriddenRootIsWrapped()
+	{
+		BaseComponent[] components = new ComponentBuilder("Foo").bold(true).create();
+		TextComponent bar = new TextComponent("Bar");
+		bar.setBold(false);
+		components[0].addExtra(bar);
+		Message message = BaseComponentConverter.toMessage(components);
+		List<MessagePart> parts = message.getParts();
+		assert parts.size() == 3;
+		assert isPlainRoot(parts.get(0));
+		assert parts.get(1).isBoldFormat();
+		assert !parts.get(2).isBoldFormat();
+	}
+
+	@Test
+	public void testNestedExtras()
+	{
+		BaseComponent[] components = new ComponentBuilder("Foo").color(net.md_5.bungee.api.ChatColor.BLUE).bold(true).event(new ClickEvent(ClickEvent.Action.RUN_COMMAND, "/foo")).append("Bar").bold(false).append("FooBar").color(net.md_5.bungee.api.ChatColor.RED).create();
+		TextComponent root = new TextComponent(components);
+		Message message = BaseComponentConverter.toMessage(root);
+		assert message.getParts().size() == 4;
+		MessagePart bar = message.getParts().get(2);
+		assert bar.getText().asString().equals("Bar");
+		assert bar.getColor() == ChatColor.BLUE;
+		assert !bar.isBoldFormat();
+		assert bar.getClickEvent().getAction() == ClickAction.RUN_COMMAND;
+		MessagePart fooBar = message.getParts().get(3);
+		assert fooBar.getColor() == ChatColor.RED;
+	}
+
+	@Test
+	public void testUnwrappedArray()
+	{
+		BaseComponent[] components = new ComponentBuilder("Foo").bold(true).event(new ClickEvent(ClickEvent.Action.RUN_COMMAND, "/foo")).append("Bar").bold(false).event((ClickEvent)null).create();
+		Message message = BaseComponentConverter.toMessage(components);
+		assert message.getParts().size() == 3;
+		assert isPlainRoot(message.getParts().get(0));
+		MessagePart foo = message.getParts().get(1);
+		assert foo.isBoldFormat();
+		assert foo.getClickEvent() != null;
+		MessagePart bar = message.getParts().get(2);
+		assert !bar.isBoldFormat();
+		assert bar.getClickEvent() == null;
+	}
+
+	@Test
+	public void testMissingEvents()
+	{
+		TextComponent component = new TextComponent("Foo");
+		component.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, new BaseComponent[]{new TextComponent("Bar")}));
+		component.addExtra(new TextComponent("Bar"));
+		Message message = Message.of(new TextComponent("FooBar"), component);
+		assert isPlainRoot(message.getParts().get(0));
+		assert message.getParts().get(1).getHoverEvent() == null;
+		assert message.getParts().get(2).getHoverEvent().getValue().asString().equals("Bar");
+		assert message.getParts().get(3).getHoverEvent() != null;
+		assert message.getParts().get(3).getClickEvent() == null;
+	}
+
+	private static BaseComponent[] toRoot(BaseComponent[] siblings)
+	{
+		for(int index = 1; index < siblings.length; index++)
+		{
+			siblings[0].addExtra(siblings[index]);
+		}
+		return new BaseComponent[]{siblings[0]};
+	}
+
+	private static boolean isPlainRoot(MessagePart part)
+	{
+		boolean formatted = part.isMagicFormat() || part.isBoldFormat() || part.isStrikethroughFormat() || part.isUnderlineFormat() || part.isItalicFormat();
+		return part.getText().asString().isEmpty() && part.getColor() == null && !formatted && part.getHoverEvent() == null && part.getClickEvent() == null;
+	}
+}
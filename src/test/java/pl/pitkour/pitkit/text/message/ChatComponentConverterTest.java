@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text.message;
+
+import java.util.Objects;
+import net.minecraft.server.v1_12_R1.IChatBaseComponent;
+import net.minecraft.server.v1_12_R1.IChatBaseComponent.ChatSerializer;
+import org.bukkit.ChatColor;
+import org.junit.Test;
+import pl.pitkour.pitkit.text.Text;
+import pl.pitkour.pitkit.text.message.event.action.ClickAction;
+import pl.pitkour.pitkit.text.message.event.action.HoverAction;
+
+public class ChatComponentConverterTest
+{
+	@Test
+	public void testParityWithJson()
+	{
+		testParity(MessageWriterTest.createMessage());
+	}
+
+	@Test
+	public void testParityOfEveryColor()
+	{
+		for(ChatColor color : ChatColor.values())
+		{
+			testParity(Message.builder("Foo").color(color).build());
+		}
+	}
+
+	@Test
+	public void testParityOfEveryAction()
+	{
+		for(HoverAction action : HoverAction.values())
+		{
+			testParity(Message.builder("Foo").hover(action, "Bar").build());
+		}
+		for(ClickAction action : ClickAction.values())
+		{
+			testParity(Message.builder("Foo").click(action, "Bar").build());
+		}
+	}
+
+	@Test
+	public void testParityOfInheritedStyle()
+	{
+		testParity(Message.builder("Foo").bold().italic().hover(HoverAction.SHOW_TEXT, Text.of("Bar")).text("Bar").text("FooBar").color(ChatColor.RED).build());
+	}
+
+	private static void testParity(Message message)
+	{
+		IChatBaseComponent parsed = ChatSerializer.a(MessageWriter.write(message));
+		IChatBaseComponent converted = ChatComponentConverter.convert(message);
+		assert Objects.equals(parsed, converted);
+		assert ChatSerializer.a(parsed).equals(ChatSerializer.a(converted));
+	}
+}
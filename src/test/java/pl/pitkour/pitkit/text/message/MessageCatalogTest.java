@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text.message;
+
+import java.util.Locale;
+import org.junit.Test;
+
+public class MessageCatalogTest
+{
+	private static MessageCatalog createCatalog()
+	{
+		return MessageCatalog.builder("lang/messages").defaultLocale(Locale.US).locale("pl_PL").build();
+	}
+
+	@Test
+	public void testLocalizedLookup()
+	{
+		MessageCatalog catalog = createCatalog();
+		assert catalog.text("en_us", "farewell").asString().equals("§7Goodbye.");
+		assert catalog.text("pl_pl", "balance").asString().equals("§7Stan konta: §9{amount}");
+		assert catalog.template("pl_pl", "greeting").getSlots().contains("player");
+		assert catalog.getLocales().size() == 2;
+	}
+
+	@Test
+	public void testFallback()
+	{
+		MessageCatalog catalog = createCatalog();
+		assert catalog.text("pl_pl", "farewell") == catalog.text("en_us", "farewell");
+		assert catalog.text("pl-PL", "greeting") == catalog.text("pl_pl", "greeting");
+		assert catalog.text("pl", "greeting") == catalog.text("pl_pl", "greeting");
+		assert catalog.text("de_de", "greeting") == catalog.text("en_us", "greeting");
+		assert catalog.text((String)null, "greeting") == catalog.text("en_us", "greeting");
+	}
+
+	@Test
+	public void testCompiledOnce()
+	{
+		MessageCatalog catalog = createCatalog();
+		assert catalog.message("en_gb", "greeting") == catalog.message("en_us", "greeting");
+		assert catalog.template("en_us", "greeting") == catalog.template("en_us", "greeting");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownKey()
+	{
+		createCatalog().text("en_us", "unknown");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMissingResource()
+	{
+		MessageCatalog.builder("lang/messages").defaultLocale("de_de").build();
+	}
+}
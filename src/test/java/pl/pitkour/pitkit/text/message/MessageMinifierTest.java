@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text.message;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.bukkit.ChatColor;
+import org.junit.Test;
+import pl.pitkour.pitkit.text.Text;
+import pl.pitkour.pitkit.text.message.Message.MessagePart;
+import pl.pitkour.pitkit.text.message.MessageMinifier.Minification;
+import pl.pitkour.pitkit.text.message.event.action.ClickAction;
+import pl.pitkour.pitkit.text.message.event.action.HoverAction;
+
+public class MessageMinifierTest
+{
+	@Test
+	public void testAdjacentPartsAreMerged()
+	{
+		Message message = Message.builder().regular("(").regular("Foo").regular(")").build();
+		Minification minification = MessageMinifier.minify(message);
+		assert minification.getMessage().getParts().size() < message.getParts().size();
+		assert minification.getSavedBytes() > 0;
+		testRendering(message, minification.getMessage());
+	}
+
+	@Test
+	public void testBracketsKeepRendering()
+	{
+		Message message = Message.builder().prefix().regular("Foo ").brackets("Bar").regular(" FooBar ").brackets("Foo").bold().regular(".").build();
+		Minification minification = MessageMinifier.minify(message);
+		assert minification.getSavedBytes() > 0;
+		assert minification.getMinifiedLength() == minification.getMessage().asString().getBytes(StandardCharsets.UTF_8).length;
+		testRendering(message, minification.getMessage());
+	}
+
+	@Test
+	public void testInheritedStyleKeepsRendering()
+	{
+		Message message = Message.builder("Foo").bold().hover(HoverAction.SHOW_TEXT, "Bar").text("Bar").color(ChatColor.RED).text("FooBar").click(ClickAction.RUN_COMMAND, "/foo").text("Bar").text(Text.colorize("&cFoo")).text("Bar").build();
+		testRendering(message, MessageMinifier.minify(message).getMessage());
+	}
+
+	@Test
+	public void testFormattedFirstPartIsNotInherited()
+	{
+		Message message = Message.builder().highlighted("A").bold().regular("B").build();
+		Message minified = MessageMinifier.minify(message).getMessage();
+		testRendering(message, minified);
+		testRendering(message, Message.builder().highlighted("A").bold().regular("B").minified().build());
+	}
+
+	@Test
+	public void testHoveredFirstPartIsNotInherited()
+	{
+		Message message = Message.builder().regular("Foo").hover(HoverAction.SHOW_TEXT, "Bar").click(ClickAction.RUN_COMMAND, "/foo").regular(" and ").highlighted("Bar").regular(" and ").regular("FooBar").build();
+		testRendering(message, MessageMinifier.minify(message).getMessage());
+	}
+
+	@Test
+	public void testCoveringFirstPartBecomesRoot()
+	{
+		Message message = Message.builder().text("Foo").color(ChatColor.RED).bold().text("Bar").color(ChatColor.BLUE).bold().text("FooBar").color(ChatColor.GREEN).bold().italic().build();
+		Minification minification = MessageMinifier.minify(message);
+		testRendering(message, minification.getMessage());
+		assert minification.getMessage().getParts().get(0).getText().asString().equals("Foo");
+	}
+
+	@Test
+	public void testMinifiedBuilder()
+	{
+		Message message = Message.builder().regular("Foo").regular("Bar").minified().build();
+		assert message.getParts().size() == 1;
+		assert message.getParts().get(0).getText().asString().equals("FooBar");
+	}
+
+	private static void testRendering(Message message, Message minified)
+	{
+		assert render(message).equals(render(minified));
+	}
+
+	private static List<String> render(Message message)
+	{
+		List<String> characters = new ArrayList<>();
+		List<MessagePart> parts = message.getParts();
+		MessagePart root = parts.get(0);
+		for(MessagePart part : parts)
+		{
+			ChatColor color = part.getColor() != null ? part.getColor() : root.getColor();
+			String style = color + " " + (part.isMagicFormat() || root.isMagicFormat()) + (part.isBoldFormat() || root.isBoldFormat()) + (part.isStrikethroughFormat() || root.isStrikethroughFormat()) + (part.isUnderlineFormat() || root.isUnderlineFormat()) + (part.isItalicFormat() || root.isItalicFormat()) + " " + Objects.toString(part.getHoverEvent() != null ? part.getHoverEvent() : root.getHoverEvent()) + " " + Objects.toString(part.getClickEvent() != null ? part.getClickEvent() : root.getClickEvent());
+			String text = part.getText().asString();
+			for(int index = 0; index < text.length(); index++)
+			{
+				characters.add(text.charAt(index) + style);
+			}
+		}
+		return characters;
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text.message;
+
+import net.minecraft.server.v1_12_R1.ChatMessageType;
+import net.minecraft.server.v1_12_R1.PacketPlayOutChat;
+import org.junit.Test;
+import pl.pitkour.pitkit.text.message.MessageTemplate.TemplateArguments;
+import pl.pitkour.pitkit.text.message.event.action.HoverAction;
+import pl.pitkour.pitkit.utility.TimeUtility;
+
+public class MessageTemplateTest
+{
+	@Test
+	public void testRenderMatchesMessage()
+	{
+		long time = 1506376800000L;
+		MessageTemplate template = MessageTemplate.compile(Message.builder().prefix().highlighted("{player}").regular(" killed ").highlighted("{victim}").hover(HoverAction.SHOW_TEXT, "{player} at {time}").regular(" with ").highlighted("{damage}").regular(" damage").build());
+		String rendered = template.arguments().text("player", "Foo").text("victim", "\"Bar\"\n").time("time", time).number("damage", 1337).asString();
+		Message message = Message.builder().prefix().highlighted("Foo").regular(" killed ").highlighted("\"Bar\"\n").hover(HoverAction.SHOW_TEXT, "Foo at " + TimeUtility.getTime(time)).regular(" with ").number(1337).regular(" damage").build();
+		assert rendered.equals(message.asString());
+	}
+
+	@Test
+	public void testRepeatedSlots()
+	{
+		MessageTemplate template = MessageTemplate.compile(Message.of("{foo} {bar} {foo}"));
+		assert template.getSlots().size() == 2;
+		assert template.arguments().text("foo", "1").text("bar", "2").asString().equals(Message.of("1 2 1").asString());
+	}
+
+	@Test
+	public void testEscapedBraces()
+	{
+		MessageTemplate template = MessageTemplate.compile(Message.of("{{foo} {foo} {{{foo}"));
+		assert template.getSlots().size() == 1;
+		assert template.arguments().text("foo", "1").asString().equals(Message.of("{foo} 1 {1").asString());
+	}
+
+	@Test
+	public void testRenderedArgumentsAreReused()
+	{
+		TemplateArguments arguments = MessageTemplate.compile(Message.of("{foo}")).arguments().text("foo", "1");
+		String rendered = arguments.asString();
+		PacketPlayOutChat packet = arguments.asPacket(ChatMessageType.CHAT);
+		assert arguments.asString() == rendered;
+		assert arguments.asPacket(ChatMessageType.CHAT) == packet;
+		assert arguments.asPacket(ChatMessageType.SYSTEM) != packet;
+		arguments.text("foo", "2");
+		assert arguments.asString().equals(Message.of("2").asString());
+		assert arguments.asPacket(ChatMessageType.CHAT) != packet;
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testMissingValue()
+	{
+		MessageTemplate.compile(Message.of("{foo}")).arguments().asString();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownSlot()
+	{
+		MessageTemplate.compile(Message.of("{foo}")).arguments().text("bar", "");
+	}
+}
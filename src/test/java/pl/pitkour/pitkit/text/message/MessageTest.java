@@ -0,0 +1,154 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text.message;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import net.minecraft.server.v1_12_R1.ChatMessageType;
+import net.minecraft.server.v1_12_R1.PacketPlayOutChat;
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+import org.junit.Test;
+import pl.pitkour.pitkit.text.message.Message.MessageBuilder;
+
+public class MessageTest
+{
+	@Test
+	public void testSerializedFormIsCached()
+	{
+		Message message = Message.builder("Foo").color(ChatColor.BLUE).build();
+		assert message.asString() == message.asString();
+	}
+
+	@Test
+	public void testBuilderInvalidatesSerializedForm()
+	{
+		MessageBuilder builder = Message.builder("Foo");
+		Message message = builder.build();
+		String serialized = message.asString();
+		builder.bold();
+		assert !serialized.equals(message.asString());
+		assert message.asString().equals(MessageWriter.write(message));
+		serialized = message.asString();
+		builder.space();
+		assert !serialized.equals(message.asString());
+		assert message.asString().equals(MessageWriter.write(message));
+	}
+
+	@Test
+	public void testDerivedMessageDoesNotChangeOriginal()
+	{
+		MessageBuilder originalBuilder = Message.builder("Foo").color(ChatColor.BLUE);
+		Message original = originalBuilder.build();
+		String serialized = original.asString();
+		Message derived = Message.builder(original).bold().text("Bar").italic().build();
+		originalBuilder.underline();
+		assert original.getParts().size() == 1;
+		assert !original.getParts().get(0).isBoldFormat();
+		assert original.getParts().get(0).isUnderlineFormat();
+		assert derived.getParts().size() == 2;
+		assert derived.getParts().get(0).isBoldFormat();
+		assert !derived.getParts().get(0).isUnderlineFormat();
+		assert !serialized.equals(original.asString());
+	}
+
+	@Test
+	public void testEqualsAndHashCode()
+	{
+		Message message = Message.builder("Foo").bold().regular("Bar").build();
+		Message derived = Message.builder(Message.of("Foo")).bold().regular("Bar").build();
+		assert message.equals(derived);
+		assert message.hashCode() == derived.hashCode();
+		assert message.hashCode() == message.getParts().hashCode();
+		Message suffixed = Message.builder(message).space().build();
+		assert !message.equals(suffixed);
+		assert suffixed.hashCode() == suffixed.getParts().hashCode();
+	}
+
+	@Test
+	public void testSerializationRoundTrip() throws Exception
+	{
+		Message message = Message.builder(MessageWriterTest.createMessage()).text("Foo").build();
+		ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+		try(ObjectOutputStream objectStream = new ObjectOutputStream(byteStream))
+		{
+			objectStream.writeObject(message);
+		}
+		try(ObjectInputStream objectStream = new ObjectInputStream(new ByteArrayInputStream(byteStream.toByteArray())))
+		{
+			Message deserialized = (Message)objectStream.readObject();
+			assert message.equals(deserialized);
+			assert message.asString().equals(deserialized.asString());
+		}
+	}
+
+	@Test
+	public void testBroadcastRendersPacketOnce()
+	{
+		MessageBuilder builder = Message.builder("Foo");
+		Message message = builder.build();
+		List<Player> players = Arrays.asList(player(), player(), player());
+		List<PacketPlayOutChat> packets = new ArrayList<>();
+		message.broadcast(players, receiver -> true, ChatMessageType.CHAT, (receiver, packet) -> packets.add(packet));
+		assert packets.size() == 3;
+		assert packets.get(0) == packets.get(1) && packets.get(1) == packets.get(2);
+		message.broadcast(players, receiver -> true, ChatMessageType.CHAT, (receiver, packet) -> packets.add(packet));
+		assert packets.get(3) == packets.get(0);
+		message.broadcast(players, receiver -> true, ChatMessageType.SYSTEM, (receiver, packet) -> packets.add(packet));
+		assert packets.get(6) != packets.get(0);
+		builder.text("Bar");
+		message.broadcast(players, receiver -> true, ChatMessageType.CHAT, (receiver, packet) -> packets.add(packet));
+		assert packets.get(9) != packets.get(0);
+	}
+
+	@Test
+	public void testBroadcastFiltersReceivers()
+	{
+		Message message = Message.of("Foo");
+		Player foo = player();
+		Player bar = player();
+		Player fooBar = player();
+		List<Player> receivers = new ArrayList<>();
+		message.broadcast(Arrays.asList(foo, bar, fooBar), receiver -> receiver != bar, ChatMessageType.CHAT, (receiver, packet) -> receivers.add(receiver));
+		assert receivers.equals(Arrays.asList(foo, fooBar));
+		receivers.clear();
+		message.broadcast(Arrays.asList(foo, bar, fooBar), receiver -> false, ChatMessageType.CHAT, (receiver, packet) -> receivers.add(receiver));
+		assert receivers.isEmpty();
+	}
+
+	private static Player player()
+	{
+		return (Player)Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[]{Player.class}, (proxy, method, arguments) ->
+		{
+			switch(method.getName())
+			{
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "equals":
+					return proxy == arguments[0];
+				default:
+					return null;
+			}
+		});
+	}
+}
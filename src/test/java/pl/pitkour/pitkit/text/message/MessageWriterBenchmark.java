@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text.message;
+
+import pl.pitkour.pitkit.Benchmark;
+
+public final class MessageWriterBenchmark
+{
+	private MessageWriterBenchmark()
+	{
+		throw new UnsupportedOperationException("cannot create instance of utility class");
+	}
+
+	public static void main(String[] arguments)
+	{
+		Message message = MessageWriterTest.createMessage();
+		StringBuilder builder = new StringBuilder();
+		Benchmark.run("gson tree", () -> MessageWriterTest.writeWithGson(message));
+		Benchmark.run("streaming writer", () -> MessageWriter.write(message));
+		Benchmark.run("streaming writer, reused builder", () ->
+		{
+			builder.setLength(0);
+			MessageWriter.write(message, builder);
+			return builder;
+		});
+	}
+}
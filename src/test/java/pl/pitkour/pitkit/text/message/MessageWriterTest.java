@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text.message;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.bukkit.ChatColor;
+import org.junit.Test;
+import pl.pitkour.pitkit.text.Text;
+import pl.pitkour.pitkit.text.message.Message.MessagePart;
+import pl.pitkour.pitkit.text.message.event.action.ClickAction;
+import pl.pitkour.pitkit.text.message.event.action.HoverAction;
+
+public class MessageWriterTest
+{
+	static Message createMessage()
+	{
+		long time = 1506376800000L;
+		return Message.builder("Foo").color(ChatColor.BLUE).bold(true).space().brackets("Bar").hover(HoverAction.SHOW_TEXT, Text.colorize("&7FooBar")).click(ClickAction.RUN_COMMAND, "/foo bar").space().text(Text.colorize("&9FooBar")).magic().underline().strikethrough().italic().space().number(1337).line().date(time).line().time(time).build();
+	}
+
+	static String writeWithGson(Message message)
+	{
+		JsonArray jsonArray = new JsonArray();
+		for(MessagePart part : message.getParts())
+		{
+			JsonObject jsonObject = new JsonObject();
+			jsonObject.addProperty("text", part.getText().asString());
+			if(part.getColor() != null)
+			{
+				jsonObject.addProperty("color", part.getColor().name().toLowerCase());
+			}
+			if(part.isMagicFormat())
+			{
+				jsonObject.addProperty("obfuscated", true);
+			}
+			if(part.isBoldFormat())
+			{
+				jsonObject.addProperty("bold", true);
+			}
+			if(part.isStrikethroughFormat())
+			{
+				jsonObject.addProperty("strikethrough", true);
+			}
+			if(part.isUnderlineFormat())
+			{
+				jsonObject.addProperty("underlined", true);
+			}
+			if(part.isItalicFormat())
+			{
+				jsonObject.addProperty("italic", true);
+			}
+			if(part.getHoverEvent() != null)
+			{
+				JsonObject jsonHoverEvent = new JsonObject();
+				jsonHoverEvent.addProperty("action", part.getHoverEvent().getAction().getName());
+				jsonHoverEvent.addProperty("value", part.getHoverEvent().getValue().asString());
+				jsonObject.add("hoverEvent", jsonHoverEvent);
+			}
+			if(part.getClickEvent() != null)
+			{
+				JsonObject jsonClickEvent = new JsonObject();
+				jsonClickEvent.addProperty("action", part.getClickEvent().getAction().getName());
+				jsonClickEvent.addProperty("value", part.getClickEvent().getValue().asString());
+				jsonObject.add("clickEvent", jsonClickEvent);
+			}
+			jsonArray.add(jsonObject);
+		}
+		return jsonArray.toString();
+	}
+
+	@Test
+	public void testOutputMatchesGson()
+	{
+		Message message = createMessage();
+		assert writeWithGson(message).equals(MessageWriter.write(message));
+	}
+
+	@Test
+	public void testEscaping()
+	{
+		Message message = Message.builder("\"quoted\" \\ back\tslash\b\f\r\n").text("\u0000\u001f\u007f\u2028\u2029<>&='").text("zażółć gęślą jaźń 😀").hover(HoverAction.SHOW_TEXT, "\"\n").build();
+		assert writeWithGson(message).equals(MessageWriter.write(message));
+	}
+
+	@Test
+	public void testEmptyMessage()
+	{
+		Message message = Message.empty();
+		assert writeWithGson(message).equals(MessageWriter.write(message));
+	}
+
+	@Test
+	public void testReusedBuilder()
+	{
+		Message message = createMessage();
+		StringBuilder builder = new StringBuilder();
+		MessageWriter.write(message, builder);
+		builder.setLength(0);
+		MessageWriter.write(message, builder);
+		assert builder.toString().equals(message.asString());
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text.message;
+
+import java.lang.reflect.Field;
+import net.minecraft.server.v1_12_R1.PacketPlayOutPlayerListHeaderFooter;
+import org.junit.Test;
+import pl.pitkour.pitkit.text.message.Message.MessageBuilder;
+
+public class TabListTest
+{
+	@Test
+	public void testFooterIsWritten() throws Exception
+	{
+		Message footer = Message.of("Bar");
+		PacketPlayOutPlayerListHeaderFooter packet = TabList.of(Message.of("Foo"), footer).asPacket();
+		Field field = TabList.getField(PacketPlayOutPlayerListHeaderFooter.class, "b");
+		assert field.get(packet) == footer.asComponent();
+	}
+
+	@Test
+	public void testPacketFollowsMessageChanges()
+	{
+		MessageBuilder builder = Message.builder("Foo");
+		TabList tabList = TabList.of(builder.build(), Message.of("Bar"));
+		PacketPlayOutPlayerListHeaderFooter packet = tabList.asPacket();
+		assert tabList.asPacket() == packet;
+		builder.text("!");
+		assert tabList.asPacket() != packet;
+	}
+
+	@Test
+	public void testMissingField()
+	{
+		try
+		{
+			TabList.getField(PacketPlayOutPlayerListHeaderFooter.class, "footer");
+			assert false;
+		}
+		catch(IllegalStateException exception)
+		{
+			assert exception.getMessage().contains("footer");
+			assert exception.getMessage().contains(PacketPlayOutPlayerListHeaderFooter.class.getName());
+		}
+	}
+}
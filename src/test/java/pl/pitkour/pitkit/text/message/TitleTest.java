@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.text.message;
+
+import net.minecraft.server.v1_12_R1.PacketPlayOutTitle;
+import org.junit.Test;
+import pl.pitkour.pitkit.text.message.Message.MessageBuilder;
+
+public class TitleTest
+{
+	@Test
+	public void testBuilder()
+	{
+		Title title = Title.builder().title(Message.of("3")).times(0, 20, 0).build();
+		assert title.getSubtitle().equals(Message.empty());
+		assert title.getStay() == 20;
+		assert title.equals(Title.builder(title).build());
+		assert !title.equals(Title.builder(title).subtitle(Message.of("Get ready")).build());
+		assert Title.of(Message.of("3")).getFadeIn() == Title.DEFAULT_FADE_IN;
+	}
+
+	@Test
+	public void testPacketsFollowMessageChanges()
+	{
+		MessageBuilder builder = Message.builder("3");
+		Title title = Title.of(builder.build(), Message.of("Get ready"));
+		PacketPlayOutTitle[] packets = title.asPackets();
+		assert title.asPackets() == packets;
+		builder.text("!");
+		PacketPlayOutTitle[] changed = title.asPackets();
+		assert changed != packets;
+		assert changed[0] == packets[0];
+		assert changed[1] == packets[1];
+		assert changed[2] != packets[2];
+		assert title.asPackets() == changed;
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeTimes()
+	{
+		Title.builder().times(-1, 20, 0);
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017 PitceR
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.pitkour.pitkit.utility;
+
+import org.junit.Test;
+import pl.pitkour.pitkit.text.Text;
+import pl.pitkour.pitkit.text.Text.TextBuilder;
+import pl.pitkour.pitkit.text.message.Message;
+import pl.pitkour.pitkit.text.message.Message.MessageBuilder;
+
+public class BuilderPoolTest
+{
+	@Test
+	public void testBuildersAreReused()
+	{
+		BuilderPool<Text, TextBuilder> pool = BuilderPool.of(Text::builder);
+		TextBuilder builder = pool.acquire();
+		pool.release(builder);
+		assert pool.size() == 1;
+		assert pool.acquire() == builder;
+		assert pool.size() == 0;
+	}
+
+	@Test
+	public void testBuiltObjectsSurviveReuse()
+	{
+		BuilderPool<Text, TextBuilder> pool = BuilderPool.of(() -> Text.builder(64));
+		Text foo = pool.build(builder -> builder.regular("Foo"));
+		Text bar = pool.build(builder -> builder.highlighted("Bar").colored());
+		assert foo.asString().equals("§7Foo");
+		assert !foo.isColored();
+		assert bar.asString().equals("§9Bar");
+		assert bar.isColored();
+		assert pool.size() == 1;
+	}
+
+	@Test
+	public void testMessageBuilderReset()
+	{
+		BuilderPool<Message, MessageBuilder> pool = BuilderPool.of(Message::builder);
+		Message foo = pool.build(builder -> builder.text("Foo").bold(true).minified());
+		Message bar = pool.build(builder -> builder.text("Bar"));
+		assert foo.equals(Message.builder().text("Foo").bold(true).minified().build());
+		assert bar.equals(Message.builder().text("Bar").build());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testBuilderWithoutResetIsRejected()
+	{
+		BuilderPool<String, Builder<String>> pool = BuilderPool.of(() -> () -> "Foo");
+		Builder<String> builder = pool.acquire();
+		assert builder.build().equals("Foo");
+		pool.release(builder);
+	}
+
+	@Test
+	public void testPoolIsBounded()
+	{
+		BuilderPool<Text, TextBuilder> pool = BuilderPool.of(Text::builder, 1);
+		TextBuilder first = pool.acquire();
+		TextBuilder second = pool.acquire();
+		pool.release(first);
+		pool.release(second);
+		assert pool.size() == 1;
+	}
+}